@@ -1,3 +1,7 @@
+plugins {
+    id("me.champeau.gradle.jmh") version "0.5.0"
+}
+
 dependencies {
     api("io.kubernetes:client-java:8.0.2")
     implementation("org.junit.jupiter:junit-jupiter-api:5.6.2")
@@ -5,4 +9,4 @@ dependencies {
 
     testImplementation("com.zaxxer:HikariCP:3.4.3")
     testImplementation("org.postgresql:postgresql:42.2.12")
-}
\ No newline at end of file
+}
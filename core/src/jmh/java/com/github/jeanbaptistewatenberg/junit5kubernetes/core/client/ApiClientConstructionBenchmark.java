@@ -0,0 +1,106 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.client;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.Pod;
+import com.sun.net.httpserver.HttpServer;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodBuilder;
+import io.kubernetes.client.util.ClientBuilder;
+import io.kubernetes.client.util.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a pod with its own client parsed from a kubeconfig (previous behaviour, as with
+ * {@code Config.defaultClient()}) against building it on top of the shared {@link KubernetesClientRegistry} client,
+ * then issuing one call to a local fake API server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiClientConstructionBenchmark {
+
+    private static final byte[] POD_RESPONSE = "{\"apiVersion\":\"v1\",\"kind\":\"Pod\",\"metadata\":{\"name\":\"benchmark\"}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer fakeApiServer;
+    private String basePath;
+    private Path kubeconfig;
+
+    @Setup
+    public void startFakeApiServer() throws IOException {
+        fakeApiServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        fakeApiServer.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, POD_RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(POD_RESPONSE);
+            }
+        });
+        fakeApiServer.start();
+        basePath = "http://127.0.0.1:" + fakeApiServer.getAddress().getPort();
+        kubeconfig = Files.createTempFile("junit5-kubernetes-benchmark", ".kubeconfig");
+        Files.write(kubeconfig, ("apiVersion: v1\n" +
+                "kind: Config\n" +
+                "clusters:\n" +
+                "- name: fake\n" +
+                "  cluster:\n" +
+                "    server: " + basePath + "\n" +
+                "users:\n" +
+                "- name: fake\n" +
+                "  user:\n" +
+                "    token: benchmark\n" +
+                "contexts:\n" +
+                "- name: fake\n" +
+                "  context:\n" +
+                "    cluster: fake\n" +
+                "    user: fake\n" +
+                "current-context: fake\n").getBytes(StandardCharsets.UTF_8));
+        KubernetesClientRegistry.setApiClient(new ClientBuilder().setBasePath(basePath).build());
+    }
+
+    @TearDown
+    public void stopFakeApiServer() throws IOException {
+        KubernetesClientRegistry.setApiClient(null);
+        fakeApiServer.stop(0);
+        Files.deleteIfExists(kubeconfig);
+    }
+
+    @Benchmark
+    public V1Pod podWithDedicatedClient() throws ApiException, IOException {
+        // What Config.defaultClient() does, with the kubeconfig of the fake server
+        ApiClient client = Config.fromConfig(kubeconfig.toString());
+        client.setHttpClient(client.getHttpClient().newBuilder().readTimeout(0, TimeUnit.SECONDS).build());
+        new Pod(newPodSpec()).withApiClient(client);
+        return new CoreV1Api(client).readNamespacedPod("benchmark", "default", null, null, null);
+    }
+
+    @Benchmark
+    public V1Pod podWithSharedClient() throws ApiException {
+        new Pod(newPodSpec());
+        return new CoreV1Api(KubernetesClientRegistry.getApiClient()).readNamespacedPod("benchmark", "default", null, null, null);
+    }
+
+    private static V1Pod newPodSpec() {
+        return new V1PodBuilder()
+                .withNewSpec()
+                .addNewContainer()
+                .withName("benchmark")
+                .withImage("nginx")
+                .endContainer()
+                .endSpec()
+                .build();
+    }
+}
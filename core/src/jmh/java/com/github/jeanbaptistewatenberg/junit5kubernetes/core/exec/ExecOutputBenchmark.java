@@ -0,0 +1,93 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares collecting the standard output and error of an exec the previous way (two temp files and two
+ * new threads per exec, deleted on exit) against {@link StreamPump} with {@link SpillableBuffer}s.
+ * The exec streams are simulated with in-memory streams, the size being the one of the standard output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecOutputBenchmark {
+
+    @Param({"128", "65536", "4194304"})
+    public int outputSize;
+
+    private byte[] standardOut;
+    private byte[] standardError;
+
+    @Setup
+    public void createOutput() {
+        standardOut = new byte[outputSize];
+        Arrays.fill(standardOut, (byte) 'o');
+        standardError = "warning: something happened\n".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String tempFilesAndThreads() throws IOException, InterruptedException {
+        InputStream out = new ByteArrayInputStream(standardOut);
+        InputStream err = new ByteArrayInputStream(standardError);
+        Path tempOutFile = Files.createTempFile("junit5-kubernetes-output-temp", ".log");
+        FileOutputStream outputStream = new FileOutputStream(tempOutFile.toFile());
+        Path tempErrorFile = Files.createTempFile("junit5-kubernetes-error-temp", ".log");
+        FileOutputStream errorStream = new FileOutputStream(tempErrorFile.toFile());
+        Thread outThread = new Thread(() -> copy(out, outputStream));
+        outThread.start();
+        Thread errorThread = new Thread(() -> copy(err, errorStream));
+        errorThread.start();
+        outThread.join();
+        errorThread.join();
+        // The previous implementation never closed these streams, close them so the benchmark does not leak
+        outputStream.close();
+        errorStream.close();
+
+        String result;
+        try (InputStream in = new FileInputStream(tempErrorFile.toFile())) {
+            result = IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+        // The previous implementation only called deleteOnExit, delete here to keep the benchmark disk usage bounded
+        Files.delete(tempOutFile);
+        Files.delete(tempErrorFile);
+        return result;
+    }
+
+    @Benchmark
+    public String pumpsAndSpillableBuffers() throws IOException {
+        SpillableBuffer out = new SpillableBuffer("junit5-kubernetes-output-temp");
+        SpillableBuffer err = new SpillableBuffer("junit5-kubernetes-error-temp");
+        CompletableFuture.allOf(
+                StreamPump.pump(new ByteArrayInputStream(standardOut), out),
+                StreamPump.pump(new ByteArrayInputStream(standardError), err)
+        ).join();
+
+        String result;
+        try (InputStream in = err.getInputStream()) {
+            result = IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+        out.delete();
+        err.delete();
+        return result;
+    }
+
+    private static void copy(InputStream in, OutputStream out) {
+        try {
+            IOUtils.copy(in, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous log wait loop ({@link Scanner} plus {@link String#matches(String)} on every line) against
+ * {@link LogLineSplitter} with a precompiled {@link LogMatcher}, on the startup logs of the bundled modules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogMatcherBenchmark {
+
+    @Param({"postgresql", "rabbitmq", "elasticsearch"})
+    public String module;
+
+    private byte[] log;
+    private String text;
+    private int times;
+    private LogMatcher logMatcher;
+
+    @Setup
+    public void loadLog() throws IOException {
+        try (InputStream resource = LogMatcherBenchmark.class.getResourceAsStream("/logs/" + module + "-startup.log")) {
+            log = IOUtils.toByteArray(resource);
+        }
+        switch (module) {
+            case "postgresql":
+                text = ".*database system is ready to accept connections.*";
+                times = 2;
+                break;
+            case "rabbitmq":
+                text = ".*Server startup complete.*";
+                times = 1;
+                break;
+            default:
+                text = ".*started.*";
+                times = 1;
+        }
+        logMatcher = LogMatcher.anyOf(LogPattern.of(text, times));
+    }
+
+    @Benchmark
+    public boolean scannerWithStringMatches() {
+        Scanner sc = new Scanner(new ByteArrayInputStream(log));
+        int conditionMetTimes = 0;
+        while (sc.hasNextLine()) {
+            String input = sc.nextLine();
+            if (input.matches(text) || input.contains(text)) {
+                conditionMetTimes++;
+                if (conditionMetTimes == times) {
+                    break;
+                }
+            }
+        }
+        return conditionMetTimes == times;
+    }
+
+    @Benchmark
+    public boolean splitterWithLogMatcher() throws IOException {
+        LogMatcher.Match match = logMatcher.newMatch();
+        new LogLineSplitter().split(new ByteArrayInputStream(log), line -> !match.accept(line));
+        return match.isSatisfied();
+    }
+}
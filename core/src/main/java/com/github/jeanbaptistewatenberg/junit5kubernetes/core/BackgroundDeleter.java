@@ -0,0 +1,169 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.google.gson.JsonSyntaxException;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes removed pods from a background thread, enabled with {@code junitKubernetesBackgroundTeardown}.
+ *
+ * {@link Pod#remove()} only queues the pod and returns. Queued pods are deleted by batches, with a single
+ * delete collection call selecting them by label and no grace period, retried a few times when it fails.
+ * {@link #awaitPendingDeletions(Duration)} waits for the queue to be processed; the JUnit extension calls it
+ * once all tests ran.
+ */
+public final class BackgroundDeleter {
+    private static final String BACKGROUND_TEARDOWN = System.getProperty("junitKubernetesBackgroundTeardown");
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 500;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final Logger LOGGER = Logger.getLogger(BackgroundDeleter.class.getName());
+    private static final BlockingQueue<PodDeletion> QUEUE = new LinkedBlockingQueue<>();
+    private static final Object LOCK = new Object();
+    private static int pendingDeletions;
+    private static Thread worker;
+
+    private BackgroundDeleter() {
+    }
+
+    public static boolean isEnabled() {
+        return BACKGROUND_TEARDOWN != null && BACKGROUND_TEARDOWN.equalsIgnoreCase("true");
+    }
+
+    static void enqueue(String podName, CoreV1Api coreV1Api) {
+        synchronized (LOCK) {
+            pendingDeletions++;
+            if (worker == null) {
+                worker = new Thread(BackgroundDeleter::run, "junit5-kubernetes-deleter");
+                worker.setDaemon(true);
+                worker.start();
+            }
+        }
+        QUEUE.add(new PodDeletion(podName, coreV1Api));
+    }
+
+    /**
+     * Waits for the queued pods to be deleted, or for the deletion to be given up and logged.
+     * Pods still queued after the timeout are left to the shutdown hook.
+     *
+     * @return true if every queued deletion was processed
+     */
+    public static boolean awaitPendingDeletions(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (LOCK) {
+            while (pendingDeletions > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    LOGGER.warning(pendingDeletions + " pods were still being deleted in background after " + timeout.toMillis() + "ms");
+                    return false;
+                }
+                try {
+                    LOCK.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void run() {
+        List<PodDeletion> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(QUEUE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            QUEUE.drainTo(batch, BATCH_SIZE - 1);
+            try {
+                Map<ApiClient, List<PodDeletion>> byClient = batch.stream()
+                        .collect(Collectors.groupingBy(deletion -> deletion.coreV1Api.getApiClient(), LinkedHashMap::new, Collectors.toList()));
+                byClient.values().forEach(BackgroundDeleter::deleteBatch);
+            } finally {
+                synchronized (LOCK) {
+                    pendingDeletions -= batch.size();
+                    LOCK.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private static void deleteBatch(List<PodDeletion> batch) {
+        CoreV1Api coreV1Api = batch.get(0).coreV1Api;
+        List<String> podNames = batch.stream().map(deletion -> deletion.podName).collect(Collectors.toList());
+        String labelSelector = Pod.JUNIT_5_KUBERNETES_LABEL + " in (" + String.join(",", podNames) + ")";
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                if (Pod.isNodePortServiceEnabled()) {
+                    for (String podName : podNames) {
+                        deleteService(podName, coreV1Api);
+                    }
+                }
+                try {
+                    coreV1Api.deleteCollectionNamespacedPod(Pod.getNamespace(), null, null, null, null, 0, labelSelector, null, null, null, null, null, null);
+                } catch (JsonSyntaxException e) {
+                    Pod.ignoreStatusParsingIssue(e);
+                }
+                podNames.forEach(ShutdownRegistry::deregister);
+                LOGGER.fine("Deleted pods " + podNames + " in background");
+                return;
+            } catch (ApiException e) {
+                // Conflicts and throttling are transient, anything else is retried as well before giving up
+                LOGGER.fine("Attempt " + attempt + " to delete pods " + podNames + " failed with " + e.getCode() + ": " + e.getResponseBody());
+                if (attempt == MAX_ATTEMPTS) {
+                    LOGGER.log(Level.WARNING, "Failed to delete pods " + podNames + " in background, Kubernetes API replied with " + e.getCode() + " and body " + e.getResponseBody(), e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to delete pods " + podNames + " in background", e);
+                return;
+            }
+            try {
+                Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void deleteService(String podName, CoreV1Api coreV1Api) throws ApiException {
+        try {
+            coreV1Api.deleteNamespacedService(podName, Pod.getNamespace(), null, null, 0, null, null, null);
+        } catch (ApiException e) {
+            // Deleted by a previous attempt
+            if (e.getCode() != HTTP_NOT_FOUND) {
+                throw e;
+            }
+        } catch (JsonSyntaxException e) {
+            Pod.ignoreStatusParsingIssue(e);
+        }
+    }
+
+    private static final class PodDeletion {
+        private final String podName;
+        private final CoreV1Api coreV1Api;
+
+        private PodDeletion(String podName, CoreV1Api coreV1Api) {
+            this.podName = podName;
+            this.coreV1Api = coreV1Api;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import java.time.Duration;
+
+/**
+ * What {@link Pod#cleanup()} deleted, and how long it took.
+ */
+public final class CleanupReport {
+    private final String namespace;
+    private final int deletedPods;
+    private final int deletedServices;
+    private final int deletedConfigMaps;
+    private final Duration duration;
+
+    CleanupReport(String namespace, int deletedPods, int deletedServices, int deletedConfigMaps, Duration duration) {
+        this.namespace = namespace;
+        this.deletedPods = deletedPods;
+        this.deletedServices = deletedServices;
+        this.deletedConfigMaps = deletedConfigMaps;
+        this.duration = duration;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public int getDeletedPods() {
+        return deletedPods;
+    }
+
+    public int getDeletedServices() {
+        return deletedServices;
+    }
+
+    public int getDeletedConfigMaps() {
+        return deletedConfigMaps;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "CleanupReport{" +
+                "namespace=" + namespace +
+                ", deletedPods=" + deletedPods +
+                ", deletedServices=" + deletedServices +
+                ", deletedConfigMaps=" + deletedConfigMaps +
+                ", duration=" + duration.toMillis() + "ms" +
+                '}';
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.util.PatchUtils;
+import org.joda.time.DateTime;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Content addressed ConfigMaps holding the files mounted into pods.
+ *
+ * A ConfigMap is named after the hash of its content, so identical files are uploaded once and then shared by every pod,
+ * in this run and the next ones. Files over the ConfigMap size limit are split in several chunks, each of them being
+ * a content addressed ConfigMap too. Each store marks the ConfigMap with the time it was last used, and
+ * {@link #collectGarbage(CoreV1Api, String, Duration)} deletes the ConfigMaps no pod mounts and no one used lately.
+ */
+public final class ConfigMapFileStore {
+    public static final String JUNIT_5_KUBERNETES_CONTENT_LABEL = "junit5kubernetes-content";
+    public static final String JUNIT_5_KUBERNETES_LAST_USED_ANNOTATION = "junit5kubernetes-last-used";
+    static final String CONTENT_KEY = "content";
+    // ConfigMaps are limited to 1 MiB, keep room for the metadata
+    static final int CHUNK_SIZE = 768 * 1024;
+    // Storing a content again within this interval makes no API call
+    static final Duration USE_INTERVAL = Duration.ofMinutes(1);
+    private static final String NAME_PREFIX = "junit5-kubernetes-files-";
+    private static final int CONTENT_LABEL_LENGTH = 40;
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final Logger LOGGER = Logger.getLogger(ConfigMapFileStore.class.getName());
+    private static final Map<ApiClient, Map<String, ConfigMapFileStore>> STORES = new ConcurrentHashMap<>();
+
+    private final CoreV1Api coreV1Api;
+    private final String namespace;
+    // ConfigMap name -> when this JVM last marked it used, in epoch millis
+    private final Map<String, Long> lastUses = new ConcurrentHashMap<>();
+
+    private ConfigMapFileStore(CoreV1Api coreV1Api, String namespace) {
+        this.coreV1Api = coreV1Api;
+        this.namespace = namespace;
+    }
+
+    static ConfigMapFileStore of(CoreV1Api coreV1Api, String namespace) {
+        return STORES.computeIfAbsent(coreV1Api.getApiClient(), apiClient -> new ConcurrentHashMap<>())
+                .computeIfAbsent(namespace, ns -> new ConfigMapFileStore(coreV1Api, ns));
+    }
+
+    /**
+     * @return the hash of the content held by a ConfigMap of the store, from its name
+     */
+    static String contentHash(String configMapName) {
+        if (!configMapName.startsWith(NAME_PREFIX)) {
+            throw new IllegalArgumentException(configMapName + " is not a file ConfigMap");
+        }
+        return configMapName.substring(NAME_PREFIX.length());
+    }
+
+    /**
+     * Makes sure the content is stored and marks its ConfigMaps used, creating the missing ones (eg. never stored,
+     * or deleted by the cleanup of another JVM). Storing a content again within {@link #USE_INTERVAL} makes no API call.
+     *
+     * @return the names of the ConfigMaps holding the content, in order, each of them under the {@code content} key
+     */
+    List<String> store(byte[] content) throws ApiException {
+        List<String> names = new ArrayList<>();
+        for (int offset = 0; offset < content.length || offset == 0; offset += CHUNK_SIZE) {
+            byte[] chunk = Arrays.copyOfRange(content, offset, Math.min(content.length, offset + CHUNK_SIZE));
+            names.add(storeChunk(chunk));
+        }
+        return names;
+    }
+
+    private String storeChunk(byte[] chunk) throws ApiException {
+        String hash = PodSpecFingerprint.sha256(chunk);
+        String name = NAME_PREFIX + hash;
+        long now = System.currentTimeMillis();
+        Long lastUse = lastUses.get(name);
+        if (lastUse != null && now - lastUse < USE_INTERVAL.toMillis()) {
+            return name;
+        }
+        if (!markUsed(name, now)) {
+            V1ConfigMap configMap = new V1ConfigMap()
+                    .metadata(new V1ObjectMeta()
+                            .name(name)
+                            .putLabelsItem(JUNIT_5_KUBERNETES_CONTENT_LABEL, hash.substring(0, CONTENT_LABEL_LENGTH))
+                            .putAnnotationsItem(JUNIT_5_KUBERNETES_LAST_USED_ANNOTATION, Long.toString(now)))
+                    .putBinaryDataItem(CONTENT_KEY, chunk);
+            try {
+                coreV1Api.createNamespacedConfigMap(namespace, configMap, null, null, null);
+            } catch (ApiException e) {
+                // Created meanwhile by another JVM, the content is the same
+                if (e.getCode() != HTTP_CONFLICT) {
+                    throw e;
+                }
+            }
+        }
+        lastUses.put(name, now);
+        return name;
+    }
+
+    /**
+     * @return false when the ConfigMap does not exist
+     */
+    private boolean markUsed(String name, long now) throws ApiException {
+        V1Patch patch = new V1Patch("{\"metadata\":{\"annotations\":{\"" + JUNIT_5_KUBERNETES_LAST_USED_ANNOTATION + "\":\"" + now + "\"}}}");
+        try {
+            PatchUtils.patch(V1ConfigMap.class,
+                    () -> coreV1Api.patchNamespacedConfigMapCall(name, namespace, patch, null, null, null, null, null),
+                    V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+                    coreV1Api.getApiClient());
+            return true;
+        } catch (ApiException e) {
+            if (e.getCode() == HTTP_NOT_FOUND) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the content ConfigMaps no pod of the namespace mounts, and no one used within {@code minAge}.
+     * A ConfigMap used between the listing and its deletion, for a pod being created, is kept.
+     *
+     * @param minAge ConfigMaps used more recently than this are kept, they may have been stored for a pod being created;
+     *               at least twice {@link #USE_INTERVAL}
+     * @return the number of deleted ConfigMaps
+     */
+    public static int collectGarbage(CoreV1Api coreV1Api, String namespace, Duration minAge) throws ApiException {
+        if (minAge.compareTo(USE_INTERVAL.multipliedBy(2)) < 0) {
+            throw new IllegalArgumentException("ConfigMaps must be kept at least " + USE_INTERVAL.multipliedBy(2) + " after their last use, got " + minAge);
+        }
+        // Listed before the pods: marking one used for a pod created meanwhile changes its version, and its deletion fails
+        List<V1ConfigMap> configMaps = listContentConfigMaps(coreV1Api, namespace);
+
+        Set<String> referencedConfigMaps = new HashSet<>();
+        String _continue = null;
+        do {
+            V1PodList pods = coreV1Api.listNamespacedPod(namespace, null, null, _continue, null, null, 500, null, null, null);
+            pods.getItems().stream()
+                    .filter(pod -> pod.getSpec() != null && pod.getSpec().getVolumes() != null)
+                    .flatMap(pod -> pod.getSpec().getVolumes().stream())
+                    .filter(volume -> volume.getConfigMap() != null)
+                    .forEach(volume -> referencedConfigMaps.add(volume.getConfigMap().getName()));
+            _continue = pods.getMetadata() != null ? pods.getMetadata().getContinue() : null;
+        } while (_continue != null && !_continue.isEmpty());
+
+        long oldestKeptUse = System.currentTimeMillis() - minAge.toMillis();
+        Map<String, ConfigMapFileStore> stores = STORES.get(coreV1Api.getApiClient());
+        ConfigMapFileStore store = stores != null ? stores.get(namespace) : null;
+        int deleted = 0;
+        for (V1ConfigMap configMap : configMaps) {
+            String name = configMap.getMetadata().getName();
+            if (referencedConfigMaps.contains(name) || lastUse(configMap) >= oldestKeptUse) {
+                continue;
+            }
+            V1DeleteOptions onlyIfUnchanged = new V1DeleteOptions()
+                    .preconditions(new V1Preconditions().resourceVersion(configMap.getMetadata().getResourceVersion()));
+            try {
+                coreV1Api.deleteNamespacedConfigMap(name, namespace, null, null, 0, null, null, onlyIfUnchanged);
+                deleted++;
+                if (store != null) {
+                    store.lastUses.remove(name);
+                }
+            } catch (ApiException e) {
+                // Conflict: used meanwhile
+                if (e.getCode() != HTTP_NOT_FOUND && e.getCode() != HTTP_CONFLICT) {
+                    throw e;
+                }
+            }
+        }
+        LOGGER.fine("Deleted " + deleted + " unreferenced file ConfigMaps from namespace " + namespace);
+        return deleted;
+    }
+
+    private static long lastUse(V1ConfigMap configMap) {
+        Map<String, String> annotations = configMap.getMetadata().getAnnotations();
+        String lastUse = annotations != null ? annotations.get(JUNIT_5_KUBERNETES_LAST_USED_ANNOTATION) : null;
+        if (lastUse != null) {
+            try {
+                return Long.parseLong(lastUse);
+            } catch (NumberFormatException e) {
+                LOGGER.fine("Ignoring the invalid last use " + lastUse + " of ConfigMap " + configMap.getMetadata().getName());
+            }
+        }
+        DateTime creation = configMap.getMetadata().getCreationTimestamp();
+        // Unknown: keep it
+        return creation != null ? creation.getMillis() : Long.MAX_VALUE;
+    }
+
+    private static List<V1ConfigMap> listContentConfigMaps(CoreV1Api coreV1Api, String namespace) throws ApiException {
+        List<V1ConfigMap> configMaps = new ArrayList<>();
+        String _continue = null;
+        do {
+            V1ConfigMapList page = coreV1Api.listNamespacedConfigMap(namespace, null, null, _continue, null, JUNIT_5_KUBERNETES_CONTENT_LABEL, 500, null, null, null);
+            configMaps.addAll(page.getItems());
+            _continue = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+        } while (_continue != null && !_continue.isEmpty());
+        return configMaps;
+    }
+}
@@ -2,13 +2,94 @@ package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
 
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.traits.Waitable;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public abstract class KubernetesGenericObject<T> implements Waitable<T>, AutoCloseable {
 
+    private static volatile Executor defaultAsyncExecutor;
+    private Executor asyncExecutor;
+
     public abstract String getObjectName();
     public abstract String getObjectHostIp();
     public abstract void create();
     public abstract void remove();
 
+    /**
+     * Creates this object on its async executor, see {@link #withAsyncExecutor(Executor)}.
+     *
+     * @return a future completed with this object once it is ready
+     */
+    public CompletableFuture<T> createAsync() {
+        return createAsync(getAsyncExecutor());
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<T> createAsync(Executor executor) {
+        return CompletableFuture.runAsync(this::create, executor).thenApply(created -> (T) this);
+    }
+
+    public CompletableFuture<Void> removeAsync() {
+        return removeAsync(getAsyncExecutor());
+    }
+
+    public CompletableFuture<Void> removeAsync(Executor executor) {
+        return CompletableFuture.runAsync(this::remove, executor);
+    }
+
+    /**
+     * @param asyncExecutor the executor running {@link #createAsync()} and {@link #removeAsync()} of this object
+     * @return This object.
+     */
+    @SuppressWarnings("unchecked")
+    public T withAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return (T) this;
+    }
+
+    protected Executor getAsyncExecutor() {
+        return asyncExecutor != null ? asyncExecutor : getDefaultAsyncExecutor();
+    }
+
+    /**
+     * Replaces the executor used by objects that were not given one with {@link #withAsyncExecutor(Executor)}.
+     *
+     * @param executor the executor to use, or null to go back to the default one
+     */
+    public static void setDefaultAsyncExecutor(Executor executor) {
+        defaultAsyncExecutor = executor;
+    }
+
+    /**
+     * @return the executor set with {@link #setDefaultAsyncExecutor(Executor)}, or a shared pool of daemon threads.
+     * Creating an object mostly waits on the Kubernetes API, so the pool is not bounded by the number of processors.
+     */
+    public static Executor getDefaultAsyncExecutor() {
+        Executor executor = defaultAsyncExecutor;
+        if (executor == null) {
+            synchronized (KubernetesGenericObject.class) {
+                executor = defaultAsyncExecutor;
+                if (executor == null) {
+                    executor = newDaemonCachedThreadPool();
+                    defaultAsyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService newDaemonCachedThreadPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     // Listeners to hook into kubernetes object lifecycle
 
     protected void onBeforeCreateKubernetesObject() {
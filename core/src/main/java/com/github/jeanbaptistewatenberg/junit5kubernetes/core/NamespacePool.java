@@ -0,0 +1,232 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.client.KubernetesClientRegistry;
+import com.google.gson.JsonSyntaxException;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1NamespaceList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A namespace per JVM (so per Gradle test fork), enabled with {@code junitKubernetesNamespacePool}.
+ *
+ * The first object created claims one of the namespaces labelled {@code junit5kubernetes-namespace-pool=<pool>},
+ * created beforehand (eg. with the pull secrets the pods need). When none is free, a new one is created only if
+ * {@code junitKubernetesNamespacePoolCreate} is set, as it lacks what the prepared ones hold.
+ * Every pod of the run goes into it. When the JVM exits, a namespace it created is deleted in one call, with everything
+ * it holds; a prepared one is kept for the next runs, emptied of the pods and services of this library, and its claim released.
+ *
+ * The claim is a lease renewed while the JVM runs: the namespace of a killed JVM is claimed again by another one
+ * once the lease expired, after deleting the pods left in it.
+ */
+final class NamespacePool {
+    static final String NAMESPACE_POOL_LABEL = "junit5kubernetes-namespace-pool";
+    static final String CLAIMED_BY_ANNOTATION = "junit5kubernetes-claimed-by";
+    static final String CLAIM_RENEWED_ANNOTATION = "junit5kubernetes-claim-renewed";
+    static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+    private static final String POOL = System.getProperty("junitKubernetesNamespacePool");
+    private static final String POOL_CREATE = System.getProperty("junitKubernetesNamespacePoolCreate");
+    private static final String ACTIVE_PHASE = "Active";
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final Logger LOGGER = Logger.getLogger(NamespacePool.class.getName());
+    private static volatile String claimedNamespace;
+    private static boolean createdNamespace;
+
+    private NamespacePool() {
+    }
+
+    static boolean isEnabled() {
+        return POOL != null && !POOL.trim().isEmpty();
+    }
+
+    /**
+     * @param defaultNamespace the namespace to use when the pool is not enabled
+     * @return the namespace of this run
+     */
+    static String resolve(String defaultNamespace) {
+        if (!isEnabled()) {
+            return defaultNamespace;
+        }
+        String namespace = claimedNamespace;
+        if (namespace == null) {
+            synchronized (NamespacePool.class) {
+                namespace = claimedNamespace;
+                if (namespace == null) {
+                    CoreV1Api coreV1Api = new CoreV1Api(KubernetesClientRegistry.getApiClient());
+                    String claimant = UUID.randomUUID().toString();
+                    try {
+                        namespace = claim(coreV1Api, POOL.trim(), claimant);
+                    } catch (ApiException e) {
+                        throw Pod.logAndThrowApiException(e);
+                    }
+                    String claimed = namespace;
+                    boolean created = createdNamespace;
+                    ScheduledExecutorService leaseRenewer = renewLease(coreV1Api, claimed, claimant);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        leaseRenewer.shutdownNow();
+                        release(coreV1Api, claimed, claimant, created);
+                    }, "junit5-kubernetes-namespace"));
+                    claimedNamespace = namespace;
+                }
+            }
+        }
+        return namespace;
+    }
+
+    private static String claim(CoreV1Api coreV1Api, String pool, String claimant) throws ApiException {
+        V1NamespaceList namespaces = coreV1Api.listNamespace(null, null, null, null, NAMESPACE_POOL_LABEL + "=" + pool, null, null, null, null);
+        for (V1Namespace namespace : namespaces.getItems()) {
+            boolean active = namespace.getStatus() == null || ACTIVE_PHASE.equals(namespace.getStatus().getPhase());
+            String previousClaimant = annotation(namespace, CLAIMED_BY_ANNOTATION);
+            boolean stale = previousClaimant != null && isLeaseExpired(namespace);
+            if (!active || (previousClaimant != null && !stale)) {
+                continue;
+            }
+            String name = namespace.getMetadata().getName();
+            namespace.getMetadata().putAnnotationsItem(CLAIMED_BY_ANNOTATION, claimant);
+            namespace.getMetadata().putAnnotationsItem(CLAIM_RENEWED_ANNOTATION, Long.toString(System.currentTimeMillis()));
+            try {
+                // Sent with the listed resource version, fails if another JVM claimed it meanwhile
+                coreV1Api.replaceNamespace(name, namespace, null, null, null);
+            } catch (ApiException e) {
+                if (e.getCode() != HTTP_CONFLICT) {
+                    throw e;
+                }
+                continue;
+            }
+            if (stale) {
+                LOGGER.info("Claimed namespace " + name + " from pool " + pool + ", its lease by " + previousClaimant + " expired");
+                deleteLeftPods(coreV1Api, name);
+            } else {
+                LOGGER.info("Claimed namespace " + name + " from pool " + pool);
+            }
+            return name;
+        }
+
+        if (POOL_CREATE == null || !POOL_CREATE.equalsIgnoreCase("true")) {
+            throw new RuntimeException("No free namespace in pool " + pool + ": prepare more namespaces labelled "
+                    + NAMESPACE_POOL_LABEL + "=" + pool + ", or set junitKubernetesNamespacePoolCreate=true to create one");
+        }
+        String name = pool + "-" + claimant.split("-")[0];
+        coreV1Api.createNamespace(new V1Namespace()
+                .metadata(new V1ObjectMeta()
+                        .name(name)
+                        .putLabelsItem(NAMESPACE_POOL_LABEL, pool)
+                        .putAnnotationsItem(CLAIMED_BY_ANNOTATION, claimant)
+                        .putAnnotationsItem(CLAIM_RENEWED_ANNOTATION, Long.toString(System.currentTimeMillis()))), null, null, null);
+        createdNamespace = true;
+        LOGGER.warning("No free namespace in pool " + pool + ", created " + name
+                + ": it has none of the pull secrets, service accounts or role bindings of the prepared namespaces");
+        return name;
+    }
+
+    /**
+     * @return whether the lease of the claim was not renewed for {@link #LEASE_DURATION}; claims with no lease never expire
+     */
+    static boolean isLeaseExpired(V1Namespace namespace) {
+        String renewed = annotation(namespace, CLAIM_RENEWED_ANNOTATION);
+        if (renewed == null) {
+            return false;
+        }
+        try {
+            return System.currentTimeMillis() - Long.parseLong(renewed) > LEASE_DURATION.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String annotation(V1Namespace namespace, String key) {
+        Map<String, String> annotations = namespace.getMetadata().getAnnotations();
+        return annotations != null ? annotations.get(key) : null;
+    }
+
+    private static void deleteLeftPods(CoreV1Api coreV1Api, String namespace) throws ApiException {
+        try {
+            coreV1Api.deleteCollectionNamespacedPod(namespace, null, null, null, null, 0, Pod.JUNIT_5_KUBERNETES_LABEL, null, null, null, null, null, null);
+        } catch (JsonSyntaxException e) {
+            Pod.ignoreStatusParsingIssue(e);
+        }
+    }
+
+    private static ScheduledExecutorService renewLease(CoreV1Api coreV1Api, String namespace, String claimant) {
+        ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-namespace-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = LEASE_DURATION.toMillis() / 5;
+        leaseRenewer.scheduleAtFixedRate(() -> {
+            try {
+                V1Namespace claimed = coreV1Api.readNamespace(namespace, null, null, null);
+                if (!claimant.equals(annotation(claimed, CLAIMED_BY_ANNOTATION))) {
+                    LOGGER.severe("Namespace " + namespace + " was claimed by another JVM, the lease of this one expired");
+                    leaseRenewer.shutdown();
+                    return;
+                }
+                claimed.getMetadata().putAnnotationsItem(CLAIM_RENEWED_ANNOTATION, Long.toString(System.currentTimeMillis()));
+                coreV1Api.replaceNamespace(namespace, claimed, null, null, null);
+            } catch (ApiException e) {
+                // Tried again on next period, well before the lease expires
+                LOGGER.log(Level.WARNING, "Failed to renew the claim of namespace " + namespace + ", Kubernetes API replied with " + e.getCode(), e);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to renew the claim of namespace " + namespace, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        return leaseRenewer;
+    }
+
+    /**
+     * Deletes the namespace when this JVM created it, otherwise deletes the pods and services of this library in it
+     * and removes the claim, so that the prepared namespace goes back to the pool.
+     */
+    static void release(CoreV1Api coreV1Api, String namespace, String claimant, boolean created) {
+        if (created) {
+            delete(coreV1Api, namespace);
+            return;
+        }
+        try {
+            V1Namespace claimed = coreV1Api.readNamespace(namespace, null, null, null);
+            if (!claimant.equals(annotation(claimed, CLAIMED_BY_ANNOTATION))) {
+                LOGGER.warning("Namespace " + namespace + " was claimed by another JVM, its pods and claim are left as is");
+                return;
+            }
+            deleteLeftPods(coreV1Api, namespace);
+            Pod.deleteLabelledServices(coreV1Api, namespace);
+            claimed.getMetadata().getAnnotations().remove(CLAIMED_BY_ANNOTATION);
+            claimed.getMetadata().getAnnotations().remove(CLAIM_RENEWED_ANNOTATION);
+            // Sent with the read resource version, fails if another JVM claimed it meanwhile
+            coreV1Api.replaceNamespace(namespace, claimed, null, null, null);
+            LOGGER.fine("Released namespace " + namespace);
+        } catch (ApiException e) {
+            if (e.getCode() != HTTP_NOT_FOUND && e.getCode() != HTTP_CONFLICT) {
+                LOGGER.log(Level.WARNING, "Failed to release namespace " + namespace + ", Kubernetes API replied with " + e.getCode() + " and body " + e.getResponseBody(), e);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to release namespace " + namespace, e);
+        }
+    }
+
+    private static void delete(CoreV1Api coreV1Api, String namespace) {
+        try {
+            coreV1Api.deleteNamespace(namespace, null, null, 0, null, "Background", null);
+            LOGGER.fine("Deleted namespace " + namespace);
+        } catch (ApiException e) {
+            if (e.getCode() != HTTP_NOT_FOUND) {
+                LOGGER.log(Level.WARNING, "Failed to delete namespace " + namespace + ", Kubernetes API replied with " + e.getCode() + " and body " + e.getResponseBody(), e);
+            }
+        } catch (JsonSyntaxException e) {
+            Pod.ignoreStatusParsingIssue(e);
+        }
+    }
+}
@@ -1,30 +1,52 @@
 package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
 
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.client.KubernetesClientRegistry;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec.SpillableBuffer;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec.StreamPump;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward.KubernetesStreamOpener;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward.PortForwarder;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleListeners;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecyclePhase;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleRecorder;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleTimings;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.IWaitStrategy;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.WaitStrategy;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.watch.PodEventStream;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.watch.PodWatchSubscription;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.watch.SharedPodWatcher;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
-import io.kubernetes.client.Copy;
 import io.kubernetes.client.Exec;
 import io.kubernetes.client.PodLogs;
 import io.kubernetes.client.custom.IntOrString;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
-import io.kubernetes.client.openapi.Configuration;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.*;
-import io.kubernetes.client.util.Config;
 import io.kubernetes.client.util.Watch;
 import io.kubernetes.client.util.Yaml;
-import okhttp3.OkHttpClient;
-import okhttp3.Protocol;
 import org.apache.commons.io.IOUtils;
+import org.joda.time.DateTime;
 
 import java.io.*;
+import java.net.InetAddress;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,63 +54,173 @@ import java.util.stream.Stream;
 public class Pod extends KubernetesGenericObject<Pod> {
     public static final String JUNIT_5_KUBERNETES_POD_PREFIX = "junit5-kubernetes-pod-";
     public static final String JUNIT_5_KUBERNETES_LABEL = "junit5kubernetes";
+    public static final String JUNIT_5_KUBERNETES_SPEC_HASH_LABEL = "junit5kubernetes-spec-hash";
+    private static final int SPEC_HASH_LABEL_LENGTH = 40;
+    static final String FILE_VOLUME_PREFIX = "junit5-kubernetes-file-";
+    private static final long MAX_MOUNTED_FILE_BYTES = 32 * 1024 * 1024;
+    private static final String FILE_HELPER_IMAGE = System.getProperty("junitKubernetesFileHelperImage");
+    private static final Duration UNREFERENCED_FILES_MIN_AGE = Duration.ofMinutes(10);
+    private static final int CLEANUP_PAGE_SIZE = 500;
+    private static final int MAX_CONCURRENT_SERVICE_DELETIONS = 16;
+    private static final int HTTP_NOT_FOUND = 404;
     protected WaitStrategy<V1Pod> waitStrategy;
     protected final V1Pod podToCreate;
-    protected final ThreadLocal<V1Pod> createdPod = new ThreadLocal<>();
+    // Not thread confined: objects may be created on an executor and used from test threads
+    protected final AtomicReference<V1Pod> createdPod = new AtomicReference<>();
     protected static final String SYSTEM_NAMESPACE = System.getProperty("kubernetesNamespace");
     protected static final String SYSTEM_PULL_SECRETS = System.getProperty("kubernetesPullSecrets");
     protected static final String DEBUG = System.getProperty("junitKubernetesDebug");
     protected static final String DISABLE_HTTP2 = System.getProperty("junitKubernetesDisableHttp2");
+    protected static final String REUSE = System.getProperty("junitKubernetesReuse");
+    protected static final String USE_PORT_FORWARD = System.getProperty("junitKubernetesUsePortForward");
     protected static final String NAMESPACE = SYSTEM_NAMESPACE != null && !SYSTEM_NAMESPACE.trim().equals("") ? SYSTEM_NAMESPACE : "default";
     private static final Logger LOGGER = Logger.getLogger(Pod.class.getName());
-    protected final CoreV1Api coreV1Api;
+    // Set by withApiClient, or created from the shared client on first use: see getCoreV1Api()
+    protected volatile CoreV1Api coreV1Api;
     private final List<FileToMountOnceStarted> filesToMountOnceStarted = new ArrayList<>();
-    private Map<Integer, Integer> mappedPorts = new HashMap<>();
+    private final Set<FileToMountOnceStarted> filesMountedAtCreation = new HashSet<>();
+    // Written while creating, possibly on an executor, and read from test threads
+    private final Map<Integer, Integer> mappedPorts = new ConcurrentHashMap<>();
+    private PodPool podPool = PodPool.getDefault();
+    private volatile PodPool.PooledPod leasedPod;
+    // Collected before the spec is changed for a NodePort service or port forwarding
+    private volatile List<Integer> reservedHostPorts = Collections.emptyList();
+    private boolean reuse = REUSE != null && REUSE.equalsIgnoreCase("true");
+    private volatile V1Pod podSnapshot;
+    private boolean compressCopies;
+    private boolean portForward = USE_PORT_FORWARD != null && USE_PORT_FORWARD.equalsIgnoreCase("true");
+    private volatile PortForwarder portForwarder;
+    private volatile PodWatchSubscription podStatusSubscription;
+    private volatile LifecycleRecorder lifecycleRecorder;
+    // Completed once the creation was published, removal is published after it
+    private volatile CompletableFuture<Void> creationPublished = CompletableFuture.completedFuture(null);
 
     public Pod(V1Pod podToCreate) {
         this.podToCreate = podToCreate;
-        this.coreV1Api = initiateCoreV1Api();
     }
 
-    private static CoreV1Api initiateCoreV1Api() {
-        CoreV1Api coreV1Api;
-        try {
-            ApiClient client = Config.defaultClient();
-            if (DEBUG != null && DEBUG.equalsIgnoreCase("true")) {
-                client.setDebugging(true);
-            }
-            // infinite timeout
-            OkHttpClient.Builder builder = client.getHttpClient().newBuilder()
-                    .readTimeout(0, TimeUnit.SECONDS);
+    /**
+     * Uses a dedicated client for this object instead of the shared one.
+     *
+     * @param apiClient the client to use for every call made by this pod
+     * @return This pod.
+     */
+    public Pod withApiClient(ApiClient apiClient) {
+        this.coreV1Api = new CoreV1Api(apiClient);
+        return this;
+    }
 
-            if (DISABLE_HTTP2 != null && DISABLE_HTTP2.equalsIgnoreCase("true")) {
-                builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
-            }
+    /**
+     * @return the API of the client given to {@link #withApiClient(ApiClient)}, or of the shared one, only created
+     * (and its kubeconfig parsed) when a pod without its own client first needs it
+     */
+    protected CoreV1Api getCoreV1Api() {
+        CoreV1Api api = coreV1Api;
+        if (api == null) {
+            api = new CoreV1Api(KubernetesClientRegistry.getApiClient());
+            coreV1Api = api;
+        }
+        return api;
+    }
 
-            OkHttpClient httpClient = builder.build();
-            client.setHttpClient(httpClient);
-            Configuration.setDefaultApiClient(client);
+    /**
+     * @return the namespace objects are created in: the one claimed for this run when {@code junitKubernetesNamespacePool}
+     * is set, {@code kubernetesNamespace} otherwise
+     */
+    protected static String getNamespace() {
+        return NamespacePool.resolve(NAMESPACE);
+    }
 
-            coreV1Api = new CoreV1Api(client);
+    /**
+     * Deletes every pod and service created by this library in the namespace, including reused and pooled pods,
+     * then the file ConfigMaps no pod mounts anymore.
+     *
+     * Objects are selected server side by the {@code junit5kubernetes} label, listed by pages, and deleted without grace period:
+     * pods with a single delete collection call, services concurrently as they have no such call.
+     *
+     * @return how many objects were deleted, and how long it took
+     */
+    public static CleanupReport cleanup() {
+        long start = System.nanoTime();
+        CoreV1Api coreV1Api = new CoreV1Api(KubernetesClientRegistry.getApiClient());
+        try {
+            int deletedServices = deleteLabelledServices(coreV1Api, getNamespace());
+            int deletedPods = deleteLabelledPods(coreV1Api);
+            int deletedConfigMaps = ConfigMapFileStore.collectGarbage(coreV1Api, getNamespace(), UNREFERENCED_FILES_MIN_AGE);
+            CleanupReport report = new CleanupReport(getNamespace(), deletedPods, deletedServices, deletedConfigMaps, Duration.ofNanos(System.nanoTime() - start));
+            LOGGER.info("Cleaned up " + report);
+            return report;
+        } catch (ApiException e) {
+            throw logAndThrowApiException(e);
+        }
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    private static int deleteLabelledPods(CoreV1Api coreV1Api) throws ApiException {
+        int count = 0;
+        String _continue = null;
+        do {
+            V1PodList page = coreV1Api.listNamespacedPod(getNamespace(), null, null, _continue, null, JUNIT_5_KUBERNETES_LABEL, CLEANUP_PAGE_SIZE, null, null, null);
+            count += page.getItems().size();
+            _continue = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+        } while (_continue != null && !_continue.isEmpty());
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            coreV1Api.deleteCollectionNamespacedPod(getNamespace(), null, null, null, null, 0, JUNIT_5_KUBERNETES_LABEL, null, null, null, null, null, null);
+        } catch (JsonSyntaxException e) {
+            ignoreStatusParsingIssue(e);
         }
-        return coreV1Api;
+        return count;
     }
 
-    // TODO study cleanup mechanism if JVM is interrupted before test completion
-    public static void cleanup() {
-        CoreV1Api coreV1Api = initiateCoreV1Api();
+    static int deleteLabelledServices(CoreV1Api coreV1Api, String namespace) throws ApiException {
+        List<String> serviceNames = new ArrayList<>();
+        String _continue = null;
+        do {
+            V1ServiceList page = coreV1Api.listNamespacedService(namespace, null, null, _continue, null, JUNIT_5_KUBERNETES_LABEL, CLEANUP_PAGE_SIZE, null, null, null);
+            for (V1Service service : page.getItems()) {
+                serviceNames.add(service.getMetadata().getName());
+            }
+            _continue = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+        } while (_continue != null && !_continue.isEmpty());
+        if (serviceNames.isEmpty()) {
+            return 0;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(serviceNames.size(), MAX_CONCURRENT_SERVICE_DELETIONS), runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-cleanup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
-            V1PodList v1PodList = coreV1Api.listNamespacedPod(NAMESPACE, null, null, null, null, null, null, null, null, null);
-            List<String> podNamesToRemove = v1PodList.getItems().stream()
-                    .map(v1Pod -> v1Pod.getMetadata().getName())
-                    .filter(v1PodName -> v1PodName.startsWith(JUNIT_5_KUBERNETES_POD_PREFIX))
+            List<CompletableFuture<Boolean>> deletions = serviceNames.stream()
+                    .map(serviceName -> CompletableFuture.supplyAsync(() -> deleteService(serviceName, namespace, coreV1Api), executor))
                     .collect(Collectors.toList());
-            podNamesToRemove.forEach(podName -> removePod(podName, coreV1Api));
+            int count = 0;
+            for (CompletableFuture<Boolean> deletion : deletions) {
+                if (deletion.join()) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean deleteService(String serviceName, String namespace, CoreV1Api coreV1Api) {
+        try {
+            coreV1Api.deleteNamespacedService(serviceName, namespace, null, null, 0, null, null, null);
+            return true;
         } catch (ApiException e) {
-            throw new RuntimeException(e);
+            if (e.getCode() == HTTP_NOT_FOUND) {
+                return false;
+            }
+            throw logAndThrowApiException(e);
+        } catch (JsonSyntaxException e) {
+            ignoreStatusParsingIssue(e);
+            return true;
         }
     }
 
@@ -110,19 +242,63 @@ public class Pod extends KubernetesGenericObject<Pod> {
 
     @Override
     public String getObjectHostIp() {
+        if (portForwarder != null) {
+            return InetAddress.getLoopbackAddress().getHostAddress();
+        }
+        V1PodStatus status = getStatus();
+        if (status == null) {
+            throw new RuntimeException("Can't get ip of a non running object.");
+        }
+        return status.getHostIP();
+    }
+
+    /**
+     * @return the pod status as last received from the pod watch, read from the API server only when not known yet
+     */
+    public V1PodStatus getStatus() {
+        if (this.createdPod.get() == null) {
+            throw new RuntimeException("Can't get status of a non running object.");
+        }
+        V1Pod snapshot = podSnapshot;
+        if (snapshot == null || snapshot.getStatus() == null || snapshot.getStatus().getHostIP() == null) {
+            snapshot = refresh();
+        }
+        return snapshot.getStatus();
+    }
+
+    /**
+     * Reads the pod from the API server instead of relying on the status received from the pod watch.
+     *
+     * @return the pod as currently known by the API server
+     */
+    public V1Pod refresh() {
         V1Pod v1Pod = this.createdPod.get();
-        if (v1Pod != null) {
-            try {
-                V1Pod retrievedPod = coreV1Api.readNamespacedPod(v1Pod.getMetadata().getName(), NAMESPACE, null, null, null);
-                if (retrievedPod.getStatus() == null) {
-                    throw new RuntimeException("Can't get ip of a non running object.");
-                }
-                return retrievedPod.getStatus().getHostIP();
-            } catch (ApiException e) {
-                throw logAndThrowApiException(e);
+        if (v1Pod == null) {
+            throw new RuntimeException("Can't refresh a non running object.");
+        }
+        try {
+            V1Pod retrievedPod = getCoreV1Api().readNamespacedPod(v1Pod.getMetadata().getName(), getNamespace(), null, null, null);
+            podSnapshot = retrievedPod;
+            return retrievedPod;
+        } catch (ApiException e) {
+            throw logAndThrowApiException(e);
+        }
+    }
+
+    private void followPodStatus(V1Pod pod) {
+        podSnapshot = pod;
+        podStatusSubscription = SharedPodWatcher.of(getCoreV1Api().getApiClient(), getNamespace()).addListener(pod.getMetadata().getName(), event -> {
+            if (!"DELETED".equals(event.type)) {
+                podSnapshot = event.object;
             }
-        } else {
-            throw new RuntimeException("Can't get ip of a non running object.");
+        });
+    }
+
+    void stopFollowingPodStatus() {
+        PodWatchSubscription subscription = podStatusSubscription;
+        if (subscription != null) {
+            podStatusSubscription = null;
+            subscription.close();
         }
     }
 
@@ -132,51 +308,34 @@ public class Pod extends KubernetesGenericObject<Pod> {
             throw new RuntimeException("Can't exec in a non running pod.");
         }
 
-        Exec exec = new Exec();
+        Exec exec = new Exec(getCoreV1Api().getApiClient());
 
         try {
             final Process proc = exec.exec(
-                    NAMESPACE,
+                    getNamespace(),
                     v1Pod.getMetadata().getName(),
                     command,
                     true,
                     true
             );
 
-            Path tempOutFile = Files.createTempFile("junit5-kubernetes-output-temp", ".log");
-            FileOutputStream outputStream = new FileOutputStream(tempOutFile.toFile());
-            Path tempErrorFile = Files.createTempFile("junit5-kubernetes-error-temp", ".log");
-            FileOutputStream errorStream = new FileOutputStream(tempErrorFile.toFile());
-
-            Thread out =
-                    new Thread(
-                            () -> {
-                                try {
-                                    IOUtils.copy(proc.getInputStream(), outputStream);
-                                } catch (IOException ex) {
-                                    ex.printStackTrace();
-                                }
-                            });
-            out.start();
-
-            Thread errors =
-                    new Thread(
-                            () -> {
-                                try {
-                                    IOUtils.copy(proc.getErrorStream(), errorStream);
-                                } catch (IOException ex) {
-                                    ex.printStackTrace();
-                                }
-                            });
-
-            errors.start();
+            SpillableBuffer standardOut = new SpillableBuffer("junit5-kubernetes-output-temp");
+            SpillableBuffer standardError = new SpillableBuffer("junit5-kubernetes-error-temp");
+            CompletableFuture<Void> out = StreamPump.pump(proc.getInputStream(), standardOut);
+            CompletableFuture<Void> errors = StreamPump.pump(proc.getErrorStream(), standardError);
 
             proc.waitFor();
 
-            out.join();
-            errors.join();
+            Throwable outFailure = awaitPump(out);
+            Throwable errorsFailure = awaitPump(errors);
+            if (outFailure != null || errorsFailure != null) {
+                standardOut.delete();
+                standardError.delete();
+                throw new RuntimeException("Failed to read the output of " + String.join(" ", command),
+                        outFailure != null ? outFailure : errorsFailure);
+            }
 
-            return new ExecResult(proc, tempOutFile, tempErrorFile);
+            return new ExecResult(proc, standardOut, standardError);
         } catch (ApiException e) {
             throw logAndThrowApiException(e);
         } catch (InterruptedException | IOException e) {
@@ -184,14 +343,34 @@ public class Pod extends KubernetesGenericObject<Pod> {
         }
     }
 
+    /**
+     * @return why the output could not be read entirely, null when it was
+     */
+    private static Throwable awaitPump(CompletableFuture<Void> pump) throws InterruptedException {
+        try {
+            pump.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
     public void copyFileToPodContainer(String containerName, Path srcPath, Path destPath) {
+        copyFilesToPodContainer(containerName, Collections.singletonMap(srcPath, destPath));
+    }
+
+    /**
+     * Copies files and directories into a container as a single tar stream, in one exec.
+     *
+     * @param srcToDestPaths local file or directory to its destination path in the container
+     */
+    public void copyFilesToPodContainer(String containerName, Map<Path, Path> srcToDestPaths) {
         V1Pod v1Pod = this.createdPod.get();
         if (v1Pod == null) {
             throw new RuntimeException("Can't copy to a non running pod.");
         }
-        Copy copy = new Copy();
         try {
-            copy.copyFileToPod(NAMESPACE, v1Pod.getMetadata().getName(), containerName, srcPath, destPath);
+            TarCopy.copy(getCoreV1Api().getApiClient(), getNamespace(), v1Pod.getMetadata().getName(), containerName, srcToDestPaths, compressCopies);
         } catch (ApiException e) {
             throw logAndThrowApiException(e);
         } catch (IOException e) {
@@ -199,8 +378,73 @@ public class Pod extends KubernetesGenericObject<Pod> {
         }
     }
 
+    /**
+     * Copies the file or directory into the container once the pod is ready, before {@link #onKubernetesObjectReady()}.
+     *
+     * @return This pod.
+     */
     public Pod withCopyFileToPodContainer(String containerName, Path srcPath, Path destPath) {
-        filesToMountOnceStarted.add(new FileToMountOnceStarted(containerName, srcPath, destPath));
+        filesToMountOnceStarted.add(new FileToMountOnceStarted(containerName, srcPath, destPath, false));
+        return this;
+    }
+
+    /**
+     * Mounts the file at {@code destPath} from a ConfigMap when the pod is created, so it is in place when the container
+     * starts (see {@link ConfigMapFileStore}). Kubernetes mounts ConfigMaps read-only and owned by root: files the image
+     * rewrites or chowns at startup must be declared with {@link #withCopyFileToPodContainer(String, Path, Path)}.
+     * Directories and files over 32 MiB are copied once the pod is ready instead.
+     *
+     * @return This pod.
+     */
+    public Pod withMountedFile(String containerName, Path srcPath, Path destPath) {
+        filesToMountOnceStarted.add(new FileToMountOnceStarted(containerName, srcPath, destPath, true));
+        return this;
+    }
+
+    /**
+     * Gzip the tar streams of copied files. Worth it for large text files when the cluster is remote; the container
+     * needs a tar supporting {@code -z}.
+     *
+     * @return This pod.
+     */
+    public Pod withCompressedCopies(boolean compressCopies) {
+        this.compressCopies = compressCopies;
+        return this;
+    }
+
+    /**
+     * Takes started pods from the given pool instead of creating a new one, when one with the same spec is available.
+     *
+     * @param podPool the pool to use, or null to always create a new pod
+     * @return This pod.
+     */
+    public Pod withPodPool(PodPool podPool) {
+        this.podPool = podPool;
+        return this;
+    }
+
+    /**
+     * Reaches the container ports through local listeners forwarding to the pod with the port-forward subresource
+     * of the API server, instead of host ports or NodePort services. {@link #getObjectHostIp()} then returns the
+     * loopback address and {@link #getMappedPorts()} the local ports.
+     *
+     * @param portForward whether to forward container ports
+     * @return This pod.
+     */
+    public Pod withPortForward(boolean portForward) {
+        this.portForward = portForward;
+        return this;
+    }
+
+    /**
+     * Reuses a running pod with the same spec left by a previous run, if any, and keeps this pod running
+     * after the tests so that a later run can reuse it. Remove it with {@link #cleanup()}.
+     *
+     * @param reuse whether the pod can be reused across runs
+     * @return This pod.
+     */
+    public Pod withReuse(boolean reuse) {
+        this.reuse = reuse;
         return this;
     }
 
@@ -208,19 +452,35 @@ public class Pod extends KubernetesGenericObject<Pod> {
         return mappedPorts;
     }
 
+    /**
+     * @param containerPort a port exposed by one of the containers
+     * @param defaultPort the port to use when the container port is not remapped
+     * @return the port to reach the container port from the tests, eg. the node port of the service or the host port of a pooled pod
+     */
+    protected int getExposedPort(int containerPort, int defaultPort) {
+        Integer mappedPort = mappedPorts.get(containerPort);
+        return mappedPort != null ? mappedPort : defaultPort;
+    }
+
     private static class FileToMountOnceStarted {
         private final String volumeMountName;
         private String containerName;
         private Path srcPath;
         private Path destPath;
+        private final boolean mountedAtCreation;
 
-        public FileToMountOnceStarted(String containerName, Path srcPath, Path destPath) {
+        public FileToMountOnceStarted(String containerName, Path srcPath, Path destPath, boolean mountedAtCreation) {
             this.containerName = containerName;
             this.srcPath = srcPath;
             this.destPath = destPath;
+            this.mountedAtCreation = mountedAtCreation;
             this.volumeMountName = UUID.randomUUID().toString().split("-")[0];
         }
 
+        public boolean isMountedAtCreation() {
+            return mountedAtCreation;
+        }
+
         public String getContainerName() {
             return containerName;
         }
@@ -259,7 +519,7 @@ public class Pod extends KubernetesGenericObject<Pod> {
         if (v1Pod == null) {
             throw new RuntimeException("Can't retrieves logs of a non running pod.");
         }
-        PodLogs logs = new PodLogs();
+        PodLogs logs = new PodLogs(getCoreV1Api().getApiClient());
         try {
             return logs.streamNamespacedPodLog(v1Pod);
         } catch (ApiException e) {
@@ -275,7 +535,7 @@ public class Pod extends KubernetesGenericObject<Pod> {
             throw new RuntimeException("Can't retrieves logs of a non running pod.");
         }
         try {
-            return coreV1Api.readNamespacedPodLog(v1Pod.getMetadata().getName(), NAMESPACE, container, false, null, null, false, null, null, false);
+            return getCoreV1Api().readNamespacedPodLog(v1Pod.getMetadata().getName(), getNamespace(), container, false, null, null, false, null, null, false);
         } catch (ApiException e) {
             throw logAndThrowApiException(e);
         }
@@ -289,22 +549,251 @@ public class Pod extends KubernetesGenericObject<Pod> {
 
     @Override
     public void create() {
+        startPodOrTakeRunningOne();
+        onPodStarted();
+    }
+
+    /**
+     * Starts (or takes from the pool) the pod on the given executor, then copies files and calls
+     * {@link #onKubernetesObjectReady()} as a second stage once the pod is ready.
+     */
+    @Override
+    public CompletableFuture<Pod> createAsync(Executor executor) {
+        return CompletableFuture.runAsync(this::startPodOrTakeRunningOne, executor)
+                .thenRunAsync(this::onPodStarted, executor)
+                .thenApply(started -> this);
+    }
+
+    private void onPodStarted() {
+        if (portForward) {
+            forwardContainerPorts();
+        }
+        LifecycleRecorder recorder = lifecycleRecorder;
+        PodPool.PooledPod pooledPod = leasedPod;
+        // A pool pod used again already has the files and the state set up by its first object
+        if (pooledPod == null || pooledPod.isFirstUse()) {
+            long phaseStart = System.nanoTime();
+            copyFilesNotMountedAtCreation();
+            phaseStart = recorder.recordSince(LifecyclePhase.FILE_COPY, phaseStart);
+            onKubernetesObjectReady();
+            recorder.recordSince(LifecyclePhase.OBJECT_READY, phaseStart);
+        }
+        if (LifecycleListeners.hasListeners()) {
+            V1Pod v1Pod = createdPod.get();
+            String podName = v1Pod.getMetadata().getName();
+            List<String> images = v1Pod.getSpec().getContainers().stream().map(V1Container::getImage).collect(Collectors.toList());
+            // Taken now, the total does not include reading the cluster phases
+            LifecycleTimings timings = recorder.toTimings(podName, images);
+            if (!recorder.isReused() && LifecycleListeners.needsClusterPhases()) {
+                // Off the path of the test waiting for the pod
+                creationPublished = CompletableFuture.runAsync(
+                        () -> LifecycleListeners.publishCreated(timings.withPhases(readClusterPhases(podName))),
+                        getDefaultAsyncExecutor());
+            } else {
+                LifecycleListeners.publishCreated(timings);
+            }
+        }
+    }
+
+    /**
+     * Splits the start of the pod in scheduling, image pulls and containers start, from its latest status and events.
+     * Only done when a listener needs them, as it costs two API calls.
+     */
+    private Map<LifecyclePhase, Duration> readClusterPhases(String podName) {
+        Map<LifecyclePhase, Duration> phases = new EnumMap<>(LifecyclePhase.class);
         try {
-            if (podToCreate.getMetadata() == null) {
-                podToCreate.setMetadata(new V1ObjectMeta());
+            V1Pod v1Pod = getCoreV1Api().readNamespacedPod(podName, getNamespace(), null, null, null);
+            Instant created = toInstant(v1Pod.getMetadata().getCreationTimestamp());
+            Instant scheduled = v1Pod.getStatus().getConditions() == null ? null : v1Pod.getStatus().getConditions().stream()
+                    .filter(condition -> "PodScheduled".equals(condition.getType()) && "True".equals(condition.getStatus()))
+                    .map(condition -> toInstant(condition.getLastTransitionTime()))
+                    .filter(Objects::nonNull)
+                    .findFirst().orElse(null);
+            Instant pulled = getCoreV1Api().listNamespacedEvent(getNamespace(), null, null, null, "involvedObject.name=" + podName, null, null, null, null, null)
+                    .getItems().stream()
+                    .filter(event -> "Pulled".equals(event.getReason()))
+                    .map(event -> toInstant(event.getLastTimestamp() != null ? event.getLastTimestamp() : event.getEventTime()))
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder()).orElse(null);
+            Instant started = v1Pod.getStatus().getContainerStatuses() == null ? null : v1Pod.getStatus().getContainerStatuses().stream()
+                    .filter(status -> status.getState() != null && status.getState().getRunning() != null)
+                    .map(status -> toInstant(status.getState().getRunning().getStartedAt()))
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder()).orElse(null);
+            putBetween(phases, LifecyclePhase.SCHEDULED, created, scheduled);
+            putBetween(phases, LifecyclePhase.IMAGE_PULLED, scheduled, pulled);
+            putBetween(phases, LifecyclePhase.CONTAINERS_STARTED, pulled != null ? pulled : scheduled, started);
+        } catch (ApiException e) {
+            LOGGER.fine("Can't read the start of pod " + podName + ", Kubernetes API replied with " + e.getCode() + " and body " + e.getResponseBody());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Can't read the start of pod " + podName, e);
+        }
+        return phases;
+    }
+
+    private static void putBetween(Map<LifecyclePhase, Duration> phases, LifecyclePhase phase, Instant start, Instant end) {
+        if (start != null && end != null) {
+            // Timestamps of different components, truncated to the second
+            Duration duration = Duration.between(start, end);
+            phases.put(phase, duration.isNegative() ? Duration.ZERO : duration);
+        }
+    }
+
+    private static Instant toInstant(DateTime dateTime) {
+        return dateTime != null ? Instant.ofEpochMilli(dateTime.getMillis()) : null;
+    }
+
+    private void forwardContainerPorts() {
+        V1Pod v1Pod = createdPod.get();
+        PortForwarder forwarder = new PortForwarder(new KubernetesStreamOpener(getCoreV1Api().getApiClient(), getNamespace(), v1Pod.getMetadata().getName()));
+        v1Pod.getSpec().getContainers().stream()
+                .filter(container -> container.getPorts() != null)
+                .flatMap(container -> container.getPorts().stream())
+                .forEach(port -> mappedPorts.put(port.getContainerPort(), forwarder.forward(port.getContainerPort())));
+        this.portForwarder = forwarder;
+    }
+
+    private void stopForwardingPorts() {
+        PortForwarder forwarder = portForwarder;
+        if (forwarder != null) {
+            portForwarder = null;
+            forwarder.close();
+        }
+    }
+
+    /**
+     * Copies the remaining files with one tar stream per container, the containers in parallel.
+     */
+    private void copyFilesNotMountedAtCreation() {
+        Map<String, Map<Path, Path>> filesByContainer = new LinkedHashMap<>();
+        for (FileToMountOnceStarted file : filesToMountOnceStarted) {
+            if (!filesMountedAtCreation.contains(file)) {
+                filesByContainer.computeIfAbsent(file.getContainerName(), containerName -> new LinkedHashMap<>())
+                        .put(file.getSrcPath(), file.getDestPath());
             }
-            String podName = JUNIT_5_KUBERNETES_POD_PREFIX + UUID.randomUUID().toString().split("-")[0];
-            podToCreate.getMetadata().setName(podName);
-            if (SYSTEM_PULL_SECRETS != null && !SYSTEM_PULL_SECRETS.isEmpty() && podToCreate.getSpec() != null) {
-                for (String secret : SYSTEM_PULL_SECRETS.split(",")) {
+        }
+        if (filesByContainer.isEmpty()) {
+            return;
+        }
+        if (filesByContainer.size() == 1) {
+            Map.Entry<String, Map<Path, Path>> files = filesByContainer.entrySet().iterator().next();
+            copyFilesToPodContainer(files.getKey(), files.getValue());
+            return;
+        }
+        String podName = createdPod.get().getMetadata().getName();
+        List<CompletableFuture<Void>> copies = filesByContainer.entrySet().stream()
+                .map(files -> TarCopy.copyAsync(getCoreV1Api().getApiClient(), getNamespace(), podName, files.getKey(), files.getValue(), compressCopies))
+                .collect(Collectors.toList());
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> copy : copies) {
+            try {
+                copy.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                RuntimeException copyFailure = cause instanceof ApiException ? logAndThrowApiException((ApiException) cause) : new RuntimeException(cause);
+                if (failure == null) {
+                    failure = copyFailure;
+                } else {
+                    failure.addSuppressed(copyFailure);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void startPodOrTakeRunningOne() {
+        filesMountedAtCreation.clear();
+        LifecycleRecorder recorder = new LifecycleRecorder(getClass().getSimpleName());
+        this.lifecycleRecorder = recorder;
+        try {
+            long phaseStart = System.nanoTime();
+            String podName = preparePodToCreate();
+            reservedHostPorts = hostPortsOf(podToCreate);
+            recorder.recordSince(LifecyclePhase.PREPARE_SPEC, phaseStart);
+            String specFingerprint = reuse || podPool != null ? PodSpecFingerprint.of(podToCreate, fileDeclarations()) : null;
+            if (reuse) {
+                podToCreate.getMetadata().putLabelsItem(JUNIT_5_KUBERNETES_SPEC_HASH_LABEL, specFingerprint.substring(0, SPEC_HASH_LABEL_LENGTH));
+                podToCreate.getMetadata().putAnnotationsItem(JUNIT_5_KUBERNETES_SPEC_HASH_LABEL, specFingerprint);
+                V1Pod reusablePod = findReusablePod(specFingerprint);
+                if (reusablePod != null) {
+                    LOGGER.info("Reusing pod " + reusablePod.getMetadata().getName() + " instead of creating " + podName);
+                    adoptRunningPod(reusablePod, nodePortsOf(reusablePod.getMetadata().getName()));
+                    freeReservedHostPorts();
+                } else {
+                    // No shutdown hook, a reusable pod outlives the JVM
+                    startPod(podName, null);
+                }
+            } else {
+                PodPool.PooledPod pooledPod = podPool != null ? podPool.lease(specFingerprint) : null;
+                if (pooledPod != null) {
+                    this.leasedPod = pooledPod;
+                    adoptRunningPod(pooledPod.getCreatedPod(), pooledPod.getMappedPorts());
+                    // The pooled pod has host ports of its own
+                    freeReservedHostPorts();
+                } else {
+                    startPod(podName, podPool != null ? specFingerprint : null);
+                }
+            }
+        } catch (ApiException e) {
+            // The object may never be removed after a failed start
+            freeReservedHostPorts();
+            throw logAndThrowApiException(e);
+        } catch (RuntimeException e) {
+            freeReservedHostPorts();
+            throw e;
+        }
+    }
+
+    /**
+     * @return a line per declared file, for the {@link PodSpecFingerprint}: two objects need the same files to share a pod
+     */
+    private List<String> fileDeclarations() {
+        return filesToMountOnceStarted.stream()
+                .map(file -> file.getContainerName() + ":" + file.getDestPath()
+                        + (file.isMountedAtCreation() ? " mounted " : " copied ")
+                        + PodSpecFingerprint.contentHash(file.getSrcPath()))
+                .collect(Collectors.toList());
+    }
+
+    private String preparePodToCreate() {
+        if (podToCreate.getMetadata() == null) {
+            podToCreate.setMetadata(new V1ObjectMeta());
+        }
+        String podName = JUNIT_5_KUBERNETES_POD_PREFIX + UUID.randomUUID().toString().split("-")[0];
+        podToCreate.getMetadata().setName(podName);
+        if (SYSTEM_PULL_SECRETS != null && !SYSTEM_PULL_SECRETS.isEmpty() && podToCreate.getSpec() != null) {
+            for (String secret : SYSTEM_PULL_SECRETS.split(",")) {
+                boolean alreadyDeclared = podToCreate.getSpec().getImagePullSecrets() != null && podToCreate.getSpec().getImagePullSecrets().stream()
+                        .anyMatch(pullSecret -> secret.equals(pullSecret.getName()));
+                if (!alreadyDeclared) {
                     podToCreate.getSpec().addImagePullSecretsItem(new V1LocalObjectReferenceBuilder().withName(secret).build());
                 }
             }
-            onBeforeCreateKubernetesObject();
-            podToCreate.getMetadata().putLabelsItem(JUNIT_5_KUBERNETES_LABEL, podName);
+        }
+        onBeforeCreateKubernetesObject();
+        podToCreate.getMetadata().putLabelsItem(JUNIT_5_KUBERNETES_LABEL, podName);
+        return podName;
+    }
+
+    /**
+     * @param poolSpecFingerprint fingerprint under which the pod spec is registered in the pool, null when not pooled
+     */
+    private void startPod(String podName, String poolSpecFingerprint) throws ApiException {
+        // Subscribe before creating the pod so that none of its events are missed
+        PodEventStream podEvents = this.waitStrategy != null
+                ? SharedPodWatcher.of(getCoreV1Api().getApiClient(), getNamespace()).subscribe(podName)
+                : null;
+        try {
+            mountFilesFromConfigMaps();
+            if (poolSpecFingerprint != null) {
+                // With the file volumes and init container, the pool pods start with the files of this object
+                podPool.register(poolSpecFingerprint, podToCreate, getCoreV1Api().getApiClient(), waitStrategy);
+            }
             List<V1ServicePort> ports = new ArrayList<>();
 
-            boolean useNodePort = System.getProperty("junitKubernetesUsePortService") != null && System.getProperty("junitKubernetesUsePortService").equalsIgnoreCase("true");
+            boolean useNodePort = isNodePortServiceEnabled();
 
             if (useNodePort) {
                 ports = podToCreate.getSpec().getContainers().stream().flatMap(container -> {
@@ -328,7 +817,20 @@ public class Pod extends KubernetesGenericObject<Pod> {
                     }).collect(Collectors.toList()));
                 });
             }
-            V1Pod createdPod = coreV1Api.createNamespacedPod(NAMESPACE, podToCreate, null, null, null);
+            PortMapper.releaseReservedPorts(reservedHostPorts);
+            if (portForward) {
+                // Reached through the API server, the pod does not need to bind ports on its node
+                podToCreate.getSpec().getContainers().stream()
+                        .filter(container -> container.getPorts() != null)
+                        .flatMap(container -> container.getPorts().stream())
+                        .forEach(port -> port.setHostPort(null));
+            }
+            long phaseStart = System.nanoTime();
+            V1Pod createdPod = getCoreV1Api().createNamespacedPod(getNamespace(), podToCreate, null, null, null);
+            if (!reuse) {
+                // Before waiting for it, a pod that never gets ready is deleted on exit too
+                ShutdownRegistry.register(podName, getCoreV1Api());
+            }
             if (useNodePort) {
                 Map<String, String> selectorLabels = new HashMap<>();
                 selectorLabels.put(JUNIT_5_KUBERNETES_LABEL, podName);
@@ -336,6 +838,7 @@ public class Pod extends KubernetesGenericObject<Pod> {
                 V1Service nodePortService = new V1ServiceBuilder()
                         .withNewMetadata()
                             .withName(podName)
+                            .addToLabels(JUNIT_5_KUBERNETES_LABEL, podName)
                         .endMetadata()
                         .withNewSpec()
                             .withType("NodePort")
@@ -343,69 +846,303 @@ public class Pod extends KubernetesGenericObject<Pod> {
                             .withPorts(ports)
                         .endSpec().build();
 
-                V1Service namespacedService = coreV1Api.createNamespacedService(NAMESPACE, nodePortService, null, null, null);
+                V1Service namespacedService = getCoreV1Api().createNamespacedService(getNamespace(), nodePortService, null, null, null);
                 List<V1ServicePort> servicePorts = namespacedService.getSpec().getPorts();
                 servicePorts.forEach(port -> {
                     mappedPorts.put(port.getPort(), port.getNodePort());
                 });
             }
             this.createdPod.set(createdPod);
-            if (this.waitStrategy != null) {
-                try (Watch<V1Pod> watch = Watch.createWatch(
-                        coreV1Api.getApiClient(),
-                        coreV1Api.listNamespacedPodCall(
-                                NAMESPACE, null, null, null, null, null,
-                                null, null, null, true,
-                                null),
-                        new TypeToken<Watch.Response<V1Pod>>() {
-                        }.getType())) {
-                    this.waitStrategy.apply(watch, createdPod);
-                } catch (IOException | ApiException e) {
-                    if (e instanceof ApiException) {
-                        throw logAndThrowApiException((ApiException) e);
-                    }
-                    throw new RuntimeException(e);
+            phaseStart = lifecycleRecorder.recordSince(LifecyclePhase.API_CREATE, phaseStart);
+            if (podEvents != null) {
+                if (appliesToItsOwnWatch(waitStrategy)) {
+                    applyToOwnWatch(podName, createdPod);
+                } else {
+                    this.waitStrategy.apply(podEvents, createdPod, getCoreV1Api().getApiClient());
                 }
+                lifecycleRecorder.recordSince(LifecyclePhase.WAIT_STRATEGY, phaseStart);
+            }
+            // Start from the state that satisfied the wait strategy, before the events stream is closed
+            V1Pod lastKnownPod = podEvents != null ? podEvents.getLastPod() : null;
+            followPodStatus(lastKnownPod != null ? lastKnownPod : createdPod);
+        } finally {
+            if (podEvents != null) {
+                podEvents.close();
             }
-            Runtime.getRuntime().addShutdownHook(new Thread(() -> removePod(podName, coreV1Api)));
+        }
+    }
 
-            filesToMountOnceStarted.forEach(fileToMountOnceStarted -> copyFileToPodContainer(fileToMountOnceStarted.getContainerName(), fileToMountOnceStarted.getSrcPath(), fileToMountOnceStarted.getDestPath()));
-            onKubernetesObjectReady();
-        } catch (ApiException e) {
-            throw logAndThrowApiException(e);
+    /**
+     * @return whether the strategy only implements the deprecated {@link WaitStrategy#apply(Watch, Object)}
+     */
+    private static boolean appliesToItsOwnWatch(WaitStrategy<V1Pod> strategy) {
+        try {
+            return strategy.getClass().getMethod("apply", Watch.class, Object.class).getDeclaringClass() != IWaitStrategy.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void applyToOwnWatch(String podName, V1Pod createdPod) throws ApiException {
+        try (Watch<V1Pod> watch = Watch.createWatch(
+                getCoreV1Api().getApiClient(),
+                getCoreV1Api().listNamespacedPodCall(
+                        getNamespace(), null, null, null, "metadata.name=" + podName, null,
+                        null, null, null, true,
+                        null),
+                new TypeToken<Watch.Response<V1Pod>>() {
+                }.getType())) {
+            this.waitStrategy.apply(watch, createdPod);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Mounts the files declared with {@link #withMountedFile(String, Path, Path)} at their destination from
+     * content addressed ConfigMaps (see {@link ConfigMapFileStore}), so they are in place when the containers start.
+     * Files over the ConfigMap size limit are reassembled from their chunks by an init container.
+     * Directories and files over {@link #MAX_MOUNTED_FILE_BYTES} are still copied once started.
+     */
+    private void mountFilesFromConfigMaps() throws ApiException {
+        if (filesToMountOnceStarted.stream().noneMatch(FileToMountOnceStarted::isMountedAtCreation)) {
+            // Keeps the file volumes of a pool template, its pods declare no file of their own
+            return;
+        }
+        removeFileVolumes(podToCreate);
+        ConfigMapFileStore fileStore = ConfigMapFileStore.of(getCoreV1Api(), getNamespace());
+        for (FileToMountOnceStarted file : filesToMountOnceStarted) {
+            if (!file.isMountedAtCreation()) {
+                continue;
+            }
+            V1Container container = findContainer(file.getContainerName());
+            long fileSize = regularFileSize(file.getSrcPath());
+            if (container == null || fileSize < 0 || fileSize > MAX_MOUNTED_FILE_BYTES) {
+                continue;
+            }
+            List<String> configMapNames;
+            try {
+                configMapNames = fileStore.store(Files.readAllBytes(file.getSrcPath()));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            String volumeName = configMapNames.size() == 1
+                    ? addConfigMapVolume(configMapNames.get(0))
+                    : addReassembledFileVolume(configMapNames);
+            container.addVolumeMountsItem(new V1VolumeMount()
+                    .name(volumeName)
+                    .mountPath(file.getDestPath().toString())
+                    .subPath(ConfigMapFileStore.CONTENT_KEY));
+            filesMountedAtCreation.add(file);
+        }
+    }
+
+    private String addConfigMapVolume(String configMapName) {
+        String volumeName = fileVolumeName(ConfigMapFileStore.contentHash(configMapName));
+        if (!hasVolume(volumeName)) {
+            podToCreate.getSpec().addVolumesItem(new V1Volume()
+                    .name(volumeName)
+                    .configMap(new V1ConfigMapVolumeSource().name(configMapName)));
+        }
+        return volumeName;
+    }
+
+    /**
+     * Reassembles the chunks in an emptyDir with an init container running busybox (or {@code junitKubernetesFileHelperImage})
+     * rather than the image of the target container, which may have no shell.
+     */
+    private String addReassembledFileVolume(List<String> chunkConfigMapNames) {
+        String volumeName = fileVolumeName(PodSpecFingerprint.sha256(String.join(",", chunkConfigMapNames).getBytes(StandardCharsets.UTF_8)));
+        if (hasVolume(volumeName)) {
+            return volumeName;
+        }
+        podToCreate.getSpec().addVolumesItem(new V1Volume().name(volumeName).emptyDir(new V1EmptyDirVolumeSource()));
+        V1Container assembler = new V1Container()
+                .name(volumeName)
+                .image(FILE_HELPER_IMAGE == null || FILE_HELPER_IMAGE.trim().isEmpty() ? "busybox:1.36" : FILE_HELPER_IMAGE.trim())
+                .addVolumeMountsItem(new V1VolumeMount().name(volumeName).mountPath("/junit5-kubernetes/file"));
+        StringBuilder concatenation = new StringBuilder("cat");
+        for (int i = 0; i < chunkConfigMapNames.size(); i++) {
+            String chunkVolumeName = addConfigMapVolume(chunkConfigMapNames.get(i));
+            assembler.addVolumeMountsItem(new V1VolumeMount().name(chunkVolumeName).mountPath("/junit5-kubernetes/chunks/" + i).readOnly(true));
+            concatenation.append(" /junit5-kubernetes/chunks/").append(i).append('/').append(ConfigMapFileStore.CONTENT_KEY);
         }
+        concatenation.append(" > /junit5-kubernetes/file/").append(ConfigMapFileStore.CONTENT_KEY);
+        assembler.command(Arrays.asList("sh", "-c", concatenation.toString()));
+        podToCreate.getSpec().addInitContainersItem(assembler);
+        return volumeName;
+    }
+
+    /**
+     * @param contentHash sha256 of the content of the volume, in hex
+     */
+    private static String fileVolumeName(String contentHash) {
+        // Volume and container names are limited to 63 characters
+        return FILE_VOLUME_PREFIX + contentHash.substring(0, 40);
+    }
+
+    private boolean hasVolume(String volumeName) {
+        return podToCreate.getSpec().getVolumes() != null
+                && podToCreate.getSpec().getVolumes().stream().anyMatch(volume -> volumeName.equals(volume.getName()));
+    }
+
+    /**
+     * Removes the volumes, volume mounts and init containers added by {@link #mountFilesFromConfigMaps()}.
+     */
+    static void removeFileVolumes(V1Pod pod) {
+        if (pod.getSpec().getVolumes() != null) {
+            pod.getSpec().getVolumes().removeIf(volume -> volume.getName().startsWith(FILE_VOLUME_PREFIX));
+        }
+        if (pod.getSpec().getInitContainers() != null) {
+            pod.getSpec().getInitContainers().removeIf(container -> container.getName().startsWith(FILE_VOLUME_PREFIX));
+        }
+        pod.getSpec().getContainers().stream()
+                .filter(container -> container.getVolumeMounts() != null)
+                .forEach(container -> container.getVolumeMounts().removeIf(volumeMount -> volumeMount.getName().startsWith(FILE_VOLUME_PREFIX)));
+    }
+
+    private V1Container findContainer(String containerName) {
+        return podToCreate.getSpec().getContainers().stream()
+                .filter(container -> containerName.equals(container.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static long regularFileSize(Path path) {
+        try {
+            return Files.isRegularFile(path) ? Files.size(path) : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private V1Pod findReusablePod(String specFingerprint) throws ApiException {
+        String labelSelector = JUNIT_5_KUBERNETES_SPEC_HASH_LABEL + "=" + specFingerprint.substring(0, SPEC_HASH_LABEL_LENGTH);
+        return getCoreV1Api().listNamespacedPod(getNamespace(), null, null, null, null, labelSelector, null, null, null, null)
+                .getItems().stream()
+                .filter(pod -> pod.getMetadata().getDeletionTimestamp() == null)
+                .filter(pod -> pod.getMetadata().getAnnotations() != null && specFingerprint.equals(pod.getMetadata().getAnnotations().get(JUNIT_5_KUBERNETES_SPEC_HASH_LABEL)))
+                .filter(Pod::isRunningAndReady)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isRunningAndReady(V1Pod pod) {
+        V1PodStatus status = pod.getStatus();
+        return status != null
+                && "Running".equalsIgnoreCase(status.getPhase())
+                && status.getContainerStatuses() != null
+                && status.getContainerStatuses().stream().allMatch(containerStatus -> Boolean.TRUE.equals(containerStatus.getReady()));
+    }
+
+    private static List<Integer> hostPortsOf(V1Pod pod) {
+        if (pod.getSpec() == null) {
+            return Collections.emptyList();
+        }
+        return Stream.of(pod.getSpec().getContainers(), pod.getSpec().getInitContainers())
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(container -> container.getPorts() != null)
+                .flatMap(container -> container.getPorts().stream())
+                .map(V1ContainerPort::getHostPort)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Integer> nodePortsOf(String podName) throws ApiException {
+        Map<Integer, Integer> nodePorts = new HashMap<>();
+        if (isNodePortServiceEnabled()) {
+            getCoreV1Api().readNamespacedService(podName, getNamespace(), null, null, null).getSpec().getPorts()
+                    .forEach(port -> nodePorts.put(port.getPort(), port.getNodePort()));
+        }
+        return nodePorts;
+    }
+
+    private void adoptRunningPod(V1Pod runningPod, Map<Integer, Integer> runningPodMappedPorts) {
+        lifecycleRecorder.markReused();
+        this.createdPod.set(runningPod);
+        followPodStatus(runningPod);
+        mappedPorts.putAll(runningPodMappedPorts);
+        // The running pod was started with its own host ports, expose them instead of the ones computed for this object
+        runningPod.getSpec().getContainers().forEach(container -> {
+            if (container.getPorts() != null) {
+                container.getPorts().stream()
+                        .filter(port -> port.getHostPort() != null)
+                        .forEach(port -> mappedPorts.putIfAbsent(port.getContainerPort(), port.getHostPort()));
+            }
+        });
     }
 
     @Override
     public void remove() {
+        stopFollowingPodStatus();
+        stopForwardingPorts();
+        if (reuse) {
+            // Kept running to be picked up by a later run, its host ports stay bound by the pod itself
+            freeReservedHostPorts();
+            return;
+        }
+        if (leasedPod != null) {
+            PodPool.PooledPod pooledPod = leasedPod;
+            leasedPod = null;
+            podPool.release(pooledPod);
+            return;
+        }
         V1Pod v1Pod = this.createdPod.get();
         if (v1Pod != null) {
             String podName = v1Pod.getMetadata().getName();
-            removePod(podName, coreV1Api);
-
+            long removalStart = System.nanoTime();
+            if (BackgroundDeleter.isEnabled()) {
+                BackgroundDeleter.enqueue(podName, getCoreV1Api());
+            } else {
+                removePod(podName, getCoreV1Api());
+            }
+            if (LifecycleListeners.hasListeners()) {
+                String objectType = getClass().getSimpleName();
+                Duration removal = Duration.ofNanos(System.nanoTime() - removalStart);
+                creationPublished.whenComplete((published, failure) -> LifecycleListeners.publishRemoved(objectType, podName, removal));
+            }
         }
+        freeReservedHostPorts();
+    }
+
+    void freeReservedHostPorts() {
+        List<Integer> ports = reservedHostPorts;
+        reservedHostPorts = Collections.emptyList();
+        PortMapper.freeReservedPorts(ports);
     }
 
-    private static void removePod(String podName, CoreV1Api coreV1Api) {
+    static boolean isNodePortServiceEnabled() {
+        return System.getProperty("junitKubernetesUsePortService") != null && System.getProperty("junitKubernetesUsePortService").equalsIgnoreCase("true");
+    }
+
+    static void removePod(String podName, CoreV1Api coreV1Api) {
         try {
-            boolean useNodePort = System.getProperty("junitKubernetesUsePortService") != null && System.getProperty("junitKubernetesUsePortService").equalsIgnoreCase("true");
+            boolean useNodePort = isNodePortServiceEnabled();
             if (useNodePort) {
-                coreV1Api.deleteNamespacedService(podName, NAMESPACE, null, null, null, null, null, null);
+                coreV1Api.deleteNamespacedService(podName, getNamespace(), null, null, null, null, null, null);
             }
 
-            coreV1Api.deleteNamespacedPod(podName, NAMESPACE, null, null, null, null, null, null);
+            coreV1Api.deleteNamespacedPod(podName, getNamespace(), null, null, null, null, null, null);
+            ShutdownRegistry.deregister(podName);
         } catch (ApiException e) {
             throw logAndThrowApiException(e);
         } catch (JsonSyntaxException e) {
-            if (e.getCause() instanceof IllegalStateException) {
-                IllegalStateException ise = (IllegalStateException) e.getCause();
-                if (ise.getMessage() != null && ise.getMessage().contains("Expected a string but was BEGIN_OBJECT")) {
-                    // Catching exception because of issue https://github.com/kubernetes-client/java/issues/86
-                } else throw e;
-            } else throw e;
+            ignoreStatusParsingIssue(e);
+            ShutdownRegistry.deregister(podName);
         }
     }
 
+    static void ignoreStatusParsingIssue(JsonSyntaxException e) {
+        if (e.getCause() instanceof IllegalStateException) {
+            IllegalStateException ise = (IllegalStateException) e.getCause();
+            if (ise.getMessage() != null && ise.getMessage().contains("Expected a string but was BEGIN_OBJECT")) {
+                // Catching exception because of issue https://github.com/kubernetes-client/java/issues/86
+            } else throw e;
+        } else throw e;
+    }
+
     @Override
     public String toString() {
         return "Pod{" +
@@ -417,14 +1154,14 @@ public class Pod extends KubernetesGenericObject<Pod> {
     public class ExecResult implements AutoCloseable {
         private final int exitCode;
         private final Process process;
-        private final File tempOutFile;
-        private final File tempErrorFile;
+        private final SpillableBuffer standardOut;
+        private final SpillableBuffer standardError;
 
-        public ExecResult(Process process, Path tempOutFile, Path tempErrorFile) {
+        public ExecResult(Process process, SpillableBuffer standardOut, SpillableBuffer standardError) {
             this.exitCode = process.exitValue();
             this.process = process;
-            this.tempOutFile = tempOutFile.toFile();
-            this.tempErrorFile = tempErrorFile.toFile();
+            this.standardOut = standardOut;
+            this.standardError = standardError;
         }
 
         public int getExitCode() {
@@ -432,56 +1169,37 @@ public class Pod extends KubernetesGenericObject<Pod> {
         }
 
         public InputStream getStandardOut() {
-            if (!tempOutFile.exists()) {
-                return null;
-            }
-
-            try {
-                return new FileInputStream(tempOutFile);
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException(e);
-            }
+            return standardOut.getInputStream();
         }
 
         public String consumeStandardOutAsString(Charset charset) {
-            if (!tempOutFile.exists()) {
-                return "";
-            }
-
-            try {
-                return IOUtils.toString(getStandardOut(), charset);
+            try (InputStream in = getStandardOut()) {
+                return IOUtils.toString(in, charset);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
 
         public InputStream getStandardError() {
-            if (!tempErrorFile.exists()) {
-                return null;
-            }
-            try {
-                return new FileInputStream(tempErrorFile);
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException(e);
-            }
+            return standardError.getInputStream();
         }
 
         public String consumeStandardErrorAsString(Charset charset) {
-            if (!tempErrorFile.exists()) {
-                return "";
-            }
-            try {
-                return IOUtils.toString(getStandardError(), charset);
+            try (InputStream in = getStandardError()) {
+                return IOUtils.toString(in, charset);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
 
+        /**
+         * Destroys the process and deletes its buffered output right away.
+         */
         @Override
         public void close() {
             process.destroy();
-            tempErrorFile.deleteOnExit();
-            tempOutFile.deleteOnExit();
+            standardOut.delete();
+            standardError.delete();
         }
     }
 }
@@ -0,0 +1,227 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.WaitStrategy;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1Pod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps started pods ready to be handed out, per pod spec.
+ *
+ * The first time a spec is created it is registered in the pool, with the volumes of its files mounted from ConfigMaps,
+ * which then starts {@code size - 1} pods of that spec in the background, the object registering it starting its own.
+ * Later objects with the same spec and files (see {@link PodSpecFingerprint}) take one of those pods instead of creating
+ * their own, and the pool starts new ones to keep {@code size} pods ready.
+ *
+ * A pod is given back to the pool when removed, until it has been used {@code maxUses} times. It is handed to the next
+ * object as the previous one left it: files are not copied again and {@code onKubernetesObjectReady} is not called
+ * again (eg. the init script of a database or the declarations of a broker), only the first object of a pod runs them.
+ * Objects with the same spec and files must then need the same readiness steps.
+ */
+public class PodPool {
+    public static final String JUNIT_5_KUBERNETES_POOL_LABEL = "junit5kubernetes-pool";
+    private static final String POOL_SIZE = System.getProperty("junitKubernetesPoolSize");
+    private static final String POOL_MAX_USES = System.getProperty("junitKubernetesPoolMaxUses");
+    private static final int FINGERPRINT_LABEL_LENGTH = 40;
+    private static final Logger LOGGER = Logger.getLogger(PodPool.class.getName());
+    private static volatile PodPool defaultPool;
+
+    private final int size;
+    private final int maxUses;
+    private final Map<String, PoolEntry> entries = new ConcurrentHashMap<>();
+    private final PodPoolMetrics metrics = new PodPoolMetrics();
+    private final PortMapper portMapper = new PortMapper();
+    private final ExecutorService replenishExecutor;
+
+    /**
+     * @param size number of started pods to keep per spec
+     * @param maxUses number of objects a pod is handed to before being removed
+     */
+    public PodPool(int size, int maxUses) {
+        if (size < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("Pool size and max uses must be positive, got " + size + " and " + maxUses);
+        }
+        this.size = size;
+        this.maxUses = maxUses;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.replenishExecutor = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-pool-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the pool configured with {@code junitKubernetesPoolSize} and {@code junitKubernetesPoolMaxUses}, or null when pooling is disabled
+     */
+    public static PodPool getDefault() {
+        if (POOL_SIZE == null || POOL_SIZE.trim().isEmpty()) {
+            return null;
+        }
+        if (defaultPool == null) {
+            synchronized (PodPool.class) {
+                if (defaultPool == null) {
+                    int maxUses = POOL_MAX_USES == null || POOL_MAX_USES.trim().isEmpty() ? 1 : parseProperty("junitKubernetesPoolMaxUses", POOL_MAX_USES);
+                    defaultPool = new PodPool(parseProperty("junitKubernetesPoolSize", POOL_SIZE), maxUses);
+                }
+            }
+        }
+        return defaultPool;
+    }
+
+    private static int parseProperty(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a positive integer, got " + value, e);
+        }
+    }
+
+    public PodPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    PooledPod lease(String specFingerprint) {
+        long start = System.nanoTime();
+        PoolEntry entry = entries.get(specFingerprint);
+        PooledPod pooledPod = entry != null ? entry.idlePods.poll() : null;
+        if (pooledPod == null) {
+            metrics.recordMiss();
+            return null;
+        }
+        pooledPod.uses.incrementAndGet();
+        metrics.recordHit(System.nanoTime() - start);
+        replenish(entry, size);
+        return pooledPod;
+    }
+
+    void register(String specFingerprint, V1Pod preparedPod, ApiClient apiClient, WaitStrategy<V1Pod> waitStrategy) {
+        AtomicBoolean created = new AtomicBoolean();
+        PoolEntry entry = entries.computeIfAbsent(specFingerprint, fingerprint -> {
+            created.set(true);
+            return new PoolEntry(fingerprint, PodSpecFingerprint.copy(preparedPod), apiClient, waitStrategy);
+        });
+        // The registering object starts a pod of the spec itself
+        replenish(entry, created.get() ? size - 1 : size);
+    }
+
+    void release(PooledPod pooledPod) {
+        PoolEntry entry = entries.get(pooledPod.specFingerprint);
+        if (entry != null && pooledPod.uses.get() < maxUses) {
+            entry.idlePods.offer(pooledPod);
+        } else {
+            pooledPod.pod.stopFollowingPodStatus();
+            Pod.removePod(pooledPod.createdPod.getMetadata().getName(), pooledPod.pod.coreV1Api);
+            pooledPod.pod.freeReservedHostPorts();
+        }
+    }
+
+    private void replenish(PoolEntry entry, int target) {
+        synchronized (entry) {
+            while (entry.idlePods.size() + entry.startingPods.get() < target) {
+                entry.startingPods.incrementAndGet();
+                // Not submitted: an error thrown by the task reaches the uncaught exception handler instead of an ignored future
+                replenishExecutor.execute(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        entry.idlePods.offer(startPooledPod(entry));
+                        metrics.recordReplenish(System.nanoTime() - start);
+                    } catch (RuntimeException e) {
+                        metrics.recordReplenishFailure();
+                        LOGGER.log(Level.WARNING, "Failed to start a pool pod for spec " + entry.specFingerprint, e);
+                    } finally {
+                        entry.startingPods.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private PooledPod startPooledPod(PoolEntry entry) {
+        V1Pod podToCreate = PodSpecFingerprint.copy(entry.template);
+        podToCreate.getMetadata().putLabelsItem(JUNIT_5_KUBERNETES_POOL_LABEL, entry.specFingerprint.substring(0, FINGERPRINT_LABEL_LENGTH));
+        // Host ports are per node, every pool pod needs its own
+        allocateHostPorts(podToCreate.getSpec().getContainers());
+        allocateHostPorts(podToCreate.getSpec().getInitContainers());
+
+        Pod pod = new Pod(podToCreate)
+                .withApiClient(entry.apiClient)
+                .withPodPool(null)
+                // Pool pods are forwarded by the objects leasing them
+                .withPortForward(false)
+                .withWaitStrategy(entry.waitStrategy != null ? entry.waitStrategy.forAnotherResource() : null);
+        pod.create();
+        return new PooledPod(entry.specFingerprint, pod, pod.createdPod.get(), new HashMap<>(pod.getMappedPorts()));
+    }
+
+    private void allocateHostPorts(List<V1Container> containers) {
+        if (containers == null) {
+            return;
+        }
+        containers.stream()
+                .filter(container -> container.getPorts() != null)
+                .flatMap(container -> container.getPorts().stream())
+                .filter(port -> port.getHostPort() != null)
+                .forEach(port -> port.setHostPort(portMapper.computeAvailablePort(Integer.toString(port.getContainerPort()))));
+    }
+
+    private static class PoolEntry {
+        private final String specFingerprint;
+        private final V1Pod template;
+        private final ApiClient apiClient;
+        private final WaitStrategy<V1Pod> waitStrategy;
+        private final BlockingQueue<PooledPod> idlePods = new LinkedBlockingQueue<>();
+        private final AtomicInteger startingPods = new AtomicInteger();
+
+        private PoolEntry(String specFingerprint, V1Pod template, ApiClient apiClient, WaitStrategy<V1Pod> waitStrategy) {
+            this.specFingerprint = specFingerprint;
+            this.template = template;
+            this.apiClient = apiClient;
+            this.waitStrategy = waitStrategy;
+        }
+    }
+
+    static class PooledPod {
+        private final String specFingerprint;
+        private final Pod pod;
+        private final V1Pod createdPod;
+        private final Map<Integer, Integer> mappedPorts;
+        // Leased and released from different threads
+        private final AtomicInteger uses = new AtomicInteger();
+
+        private PooledPod(String specFingerprint, Pod pod, V1Pod createdPod, Map<Integer, Integer> mappedPorts) {
+            this.specFingerprint = specFingerprint;
+            this.pod = pod;
+            this.createdPod = createdPod;
+            this.mappedPorts = mappedPorts;
+        }
+
+        /**
+         * @return whether the current lease is the first one, the pod being as it was started
+         */
+        boolean isFirstUse() {
+            return uses.get() <= 1;
+        }
+
+        V1Pod getCreatedPod() {
+            return createdPod;
+        }
+
+        Map<Integer, Integer> getMappedPorts() {
+            return mappedPorts;
+        }
+    }
+}
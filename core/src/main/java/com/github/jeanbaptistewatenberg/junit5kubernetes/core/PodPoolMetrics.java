@@ -0,0 +1,94 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a {@link PodPool}: how often a started pod was available, and how long leasing and starting pool pods took.
+ */
+public class PodPoolMetrics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder replenishFailures = new LongAdder();
+    private final Latency leaseLatency = new Latency();
+    private final Latency replenishLatency = new Latency();
+
+    void recordHit(long leaseNanos) {
+        hits.increment();
+        leaseLatency.record(leaseNanos);
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordReplenish(long replenishNanos) {
+        replenishLatency.record(replenishNanos);
+    }
+
+    void recordReplenishFailure() {
+        replenishFailures.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getReplenishFailures() {
+        return replenishFailures.sum();
+    }
+
+    public Latency getLeaseLatency() {
+        return leaseLatency;
+    }
+
+    public Latency getReplenishLatency() {
+        return replenishLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "PodPoolMetrics{" +
+                "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", replenishFailures=" + getReplenishFailures() +
+                ", leaseLatency=" + leaseLatency +
+                ", replenishLatency=" + replenishLatency +
+                '}';
+    }
+
+    public static class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public Duration getAverage() {
+            long samples = count.sum();
+            return samples == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / samples);
+        }
+
+        public Duration getMax() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + getCount() + ", average=" + getAverage() + ", max=" + getMax() + '}';
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1Pod;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Hash of a pod spec and of the files declared for it, ignoring what changes between two objects created from the same
+ * definition: the generated name, the extension labels, the values of the host ports and the file volumes added at creation.
+ * It identifies interchangeable pods, for the {@link PodPool} and for reuse across runs.
+ */
+final class PodSpecFingerprint {
+    private static final JSON JSON = new JSON();
+
+    private PodSpecFingerprint() {
+    }
+
+    /**
+     * @param files the files declared for the pod, each as a line naming its container, its destination, how it is put
+     *              in place and the {@link #contentHash(Path)} of its source
+     */
+    static String of(V1Pod pod, List<String> files) {
+        V1Pod normalizedPod = copy(pod);
+        if (normalizedPod.getMetadata() != null) {
+            normalizedPod.getMetadata().setName(null);
+            if (normalizedPod.getMetadata().getLabels() != null) {
+                normalizedPod.getMetadata().getLabels().remove(Pod.JUNIT_5_KUBERNETES_LABEL);
+                normalizedPod.getMetadata().getLabels().remove(PodPool.JUNIT_5_KUBERNETES_POOL_LABEL);
+                normalizedPod.getMetadata().getLabels().remove(Pod.JUNIT_5_KUBERNETES_SPEC_HASH_LABEL);
+            }
+            if (normalizedPod.getMetadata().getAnnotations() != null) {
+                normalizedPod.getMetadata().getAnnotations().remove(Pod.JUNIT_5_KUBERNETES_SPEC_HASH_LABEL);
+            }
+        }
+        if (normalizedPod.getSpec() != null) {
+            clearHostPorts(normalizedPod.getSpec().getContainers());
+            clearHostPorts(normalizedPod.getSpec().getInitContainers());
+            Pod.removeFileVolumes(normalizedPod);
+        }
+        StringBuilder fingerprinted = new StringBuilder(JSON.serialize(normalizedPod));
+        files.forEach(file -> fingerprinted.append('\n').append(file));
+        return sha256(fingerprinted.toString());
+    }
+
+    /**
+     * @return sha256 of the content of the file, or of the relative paths and contents of the files of the directory
+     */
+    static String contentHash(Path path) {
+        try {
+            if (!Files.isDirectory(path)) {
+                return Files.exists(path) ? sha256(Files.readAllBytes(path)) : "missing";
+            }
+            StringBuilder hashes = new StringBuilder();
+            try (Stream<Path> files = Files.walk(path)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    hashes.append(path.relativize(file)).append('=').append(sha256(Files.readAllBytes(file))).append('\n');
+                }
+            }
+            return sha256(hashes.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static V1Pod copy(V1Pod pod) {
+        return JSON.deserialize(JSON.serialize(pod), V1Pod.class);
+    }
+
+    private static void clearHostPorts(List<V1Container> containers) {
+        if (containers == null) {
+            return;
+        }
+        containers.stream()
+                .filter(container -> container.getPorts() != null)
+                .flatMap(container -> container.getPorts().stream())
+                .filter(port -> port.getHostPort() != null)
+                .forEach(port -> port.setHostPort(0));
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String sha256(byte[] value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -2,37 +2,178 @@ package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
 
 import java.io.IOException;
 import java.net.ServerSocket;
-import java.util.HashMap;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Picks free host ports by name.
+ *
+ * A port is reserved by keeping a socket bound to it until the pod using it is submitted
+ * (see {@link #releaseReservedPorts(Collection)}), and by a file lock under {@code junit5-kubernetes-ports} in the
+ * temp directory (or {@code junitKubernetesPortLockDir}) held until the pod is removed (see {@link #freeReservedPorts(Collection)}),
+ * so that test JVMs forked in parallel, by any project of the build, never hand out the same port.
+ */
 public class PortMapper {
-    private ThreadLocal<Map<String, Integer>> internalPortMapping = new ThreadLocal<>();
+    private static final String PORT_LOCK_DIR = System.getProperty("junitKubernetesPortLockDir");
+    private static final Path LOCK_DIRECTORY = PORT_LOCK_DIR == null || PORT_LOCK_DIR.trim().isEmpty()
+            ? Paths.get(System.getProperty("java.io.tmpdir"), "junit5-kubernetes-ports")
+            : Paths.get(PORT_LOCK_DIR.trim());
+    private static final int MAX_ATTEMPTS = 100;
+    private static final Logger LOGGER = Logger.getLogger(PortMapper.class.getName());
+    // Shared by every mapper of the JVM, a port is never handed out twice
+    private static final Map<Integer, Reservation> RESERVATIONS = new ConcurrentHashMap<>();
+    private static volatile boolean fileLocksDisabled;
+
+    // Not thread confined: ports may be computed while creating an object on an executor and read from test threads
+    private final Map<String, Integer> internalPortMapping = new ConcurrentHashMap<>();
 
     public int computeAvailablePort(String name) {
-        if (internalPortMapping.get() == null) {
-            internalPortMapping.set(new HashMap<>());
-        }
-        try {
-            ServerSocket serverSocket = new ServerSocket(0);
-            int localPort = serverSocket.getLocalPort();
-            internalPortMapping.get().put(name, localPort);
-            return localPort;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        int port = reservePort();
+        Integer previous = internalPortMapping.put(name, port);
+        if (previous != null) {
+            releaseReservedPort(previous);
         }
+        return port;
     }
 
     public int getComputedPort(String name) {
-        if (internalPortMapping.get() != null) {
-            return internalPortMapping.get().get(name);
+        if (!internalPortMapping.isEmpty()) {
+            return internalPortMapping.get(name);
         }
         throw new RuntimeException("Uninitialized port mapper");
     }
 
     public boolean hasComputedPort(String name) {
-        if (internalPortMapping.get() != null) {
-            return internalPortMapping.get().containsKey(name);
+        if (!internalPortMapping.isEmpty()) {
+            return internalPortMapping.containsKey(name);
         }
         throw new RuntimeException("Uninitialized port mapper");
     }
+
+    /**
+     * Closes the sockets reserving these ports, so that they can be bound by the pod.
+     * The ports are still not handed out again, by this JVM nor by another one.
+     */
+    public static void releaseReservedPorts(Collection<Integer> ports) {
+        ports.forEach(PortMapper::releaseReservedPort);
+    }
+
+    /**
+     * Drops the reservations of these ports once the pod using them is removed, or when it was not created:
+     * they can be handed out again, by this JVM or by another one.
+     */
+    public static void freeReservedPorts(Collection<Integer> ports) {
+        for (Integer port : ports) {
+            Reservation reservation = RESERVATIONS.remove(port);
+            if (reservation != null) {
+                reservation.closeSocket();
+                reservation.unlock();
+            }
+        }
+    }
+
+    private static void releaseReservedPort(int port) {
+        Reservation reservation = RESERVATIONS.get(port);
+        if (reservation != null) {
+            reservation.closeSocket();
+        }
+    }
+
+    private static int reservePort() {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            ServerSocket serverSocket;
+            try {
+                serverSocket = new ServerSocket(0);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            int port = serverSocket.getLocalPort();
+            Reservation reservation = new Reservation(serverSocket);
+            if (RESERVATIONS.putIfAbsent(port, reservation) != null) {
+                // Freed by a released reservation, still promised to its pod
+                reservation.closeSocket();
+                continue;
+            }
+            if (reservation.lockAcrossJvms(port)) {
+                return port;
+            }
+            // Reserved by another JVM: keep it in the map so that it is not tried again
+            reservation.closeSocket();
+        }
+        throw new RuntimeException("No available port found after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    private static final class Reservation {
+        private ServerSocket serverSocket;
+        // Kept referenced: a collected channel is closed, which releases the lock
+        private FileChannel lockChannel;
+
+        private Reservation(ServerSocket serverSocket) {
+            this.serverSocket = serverSocket;
+        }
+
+        private boolean lockAcrossJvms(int port) {
+            if (fileLocksDisabled) {
+                return true;
+            }
+            FileChannel channel = null;
+            try {
+                Files.createDirectories(LOCK_DIRECTORY);
+                channel = FileChannel.open(LOCK_DIRECTORY.resolve(port + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.tryLock();
+                if (lock == null) {
+                    channel.close();
+                    return false;
+                }
+                // Released when the pod is removed, or by the OS when the JVM exits
+                lockChannel = channel;
+                return true;
+            } catch (OverlappingFileLockException e) {
+                closeQuietly(channel);
+                return false;
+            } catch (IOException e) {
+                closeQuietly(channel);
+                fileLocksDisabled = true;
+                LOGGER.log(Level.WARNING, "Can't lock ports under " + LOCK_DIRECTORY.toAbsolutePath() + ", ports are only reserved within this JVM", e);
+                return true;
+            }
+        }
+
+        private synchronized void closeSocket() {
+            if (serverSocket != null) {
+                try {
+                    serverSocket.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to close the socket reserving port " + serverSocket.getLocalPort(), e);
+                }
+                serverSocket = null;
+            }
+        }
+
+        private synchronized void unlock() {
+            // The lock file is kept: deleting it could let two JVMs lock two different files for the same port
+            closeQuietly(lockChannel);
+            lockChannel = null;
+        }
+
+        private static void closeQuietly(FileChannel channel) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to close port lock file", e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.google.gson.JsonSyntaxException;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pods still to delete when the JVM exits.
+ *
+ * A single shutdown hook deletes the pods that were created and not removed since, concurrently and within
+ * {@code junitKubernetesShutdownTimeout} seconds, instead of one hook thread per pod ever created.
+ */
+final class ShutdownRegistry {
+    private static final String SHUTDOWN_TIMEOUT = System.getProperty("junitKubernetesShutdownTimeout");
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = SHUTDOWN_TIMEOUT == null || SHUTDOWN_TIMEOUT.trim().isEmpty()
+            ? 30
+            : Long.parseLong(SHUTDOWN_TIMEOUT.trim());
+    private static final int MAX_CONCURRENT_DELETIONS = 16;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final Logger LOGGER = Logger.getLogger(ShutdownRegistry.class.getName());
+    private static final Map<String, CoreV1Api> LIVE_PODS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean HOOK_REGISTERED = new AtomicBoolean();
+
+    private ShutdownRegistry() {
+    }
+
+    static void register(String podName, CoreV1Api coreV1Api) {
+        if (HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ShutdownRegistry::deleteLivePods, "junit5-kubernetes-shutdown"));
+        }
+        LIVE_PODS.put(podName, coreV1Api);
+    }
+
+    static void deregister(String podName) {
+        LIVE_PODS.remove(podName);
+    }
+
+    private static void deleteLivePods() {
+        Map<String, CoreV1Api> livePods = new HashMap<>(LIVE_PODS);
+        if (livePods.isEmpty() || NamespacePool.isEnabled()) {
+            // Deleted with the namespace of the run, or by label when it goes back to the pool
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(livePods.size(), MAX_CONCURRENT_DELETIONS), runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-shutdown-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        livePods.forEach((podName, coreV1Api) -> executor.submit(() -> deletePod(podName, coreV1Api)));
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                LOGGER.warning("Gave up deleting " + LIVE_PODS.size() + " pods after " + SHUTDOWN_TIMEOUT_SECONDS + "s, remove them with Pod.cleanup(): " + LIVE_PODS.keySet());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.fine("Deleted " + livePods.size() + " pods on shutdown in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+
+    private static void deletePod(String podName, CoreV1Api coreV1Api) {
+        try {
+            if (Pod.isNodePortServiceEnabled()) {
+                deleteIgnoringNotFound(() -> coreV1Api.deleteNamespacedService(podName, Pod.getNamespace(), null, null, 0, null, null, null));
+            }
+            deleteIgnoringNotFound(() -> coreV1Api.deleteNamespacedPod(podName, Pod.getNamespace(), null, null, 0, null, null, null));
+            LIVE_PODS.remove(podName);
+        } catch (ApiException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete pod " + podName + " on shutdown, Kubernetes API replied with " + e.getCode() + " and body " + e.getResponseBody(), e);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete pod " + podName + " on shutdown", e);
+        }
+    }
+
+    private static void deleteIgnoringNotFound(Deletion deletion) throws ApiException {
+        try {
+            deletion.delete();
+        } catch (ApiException e) {
+            // Already gone, removed by another JVM or by Pod.cleanup()
+            if (e.getCode() != HTTP_NOT_FOUND) {
+                throw e;
+            }
+        } catch (JsonSyntaxException e) {
+            Pod.ignoreStatusParsingIssue(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Deletion {
+        void delete() throws ApiException;
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec.SpillableBuffer;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec.StreamPump;
+import io.kubernetes.client.Exec;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copies several files and directories into a container with a single exec, as one tar stream.
+ *
+ * The archive is built locally first so that its size is known: the exec reads exactly that many bytes from its
+ * standard input, as the exec protocol has no way to signal the end of it.
+ */
+final class TarCopy {
+    private static final ExecutorService COPY_EXECUTOR;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+        COPY_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-copy-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private TarCopy() {
+    }
+
+    /**
+     * Same as {@link #copy(ApiClient, String, String, String, Map, boolean)}, on a shared pool of daemon threads so that
+     * copies to different containers run in parallel.
+     *
+     * @return a future completed once the copy is done, exceptionally with a {@link CompletionException} if it failed
+     */
+    static CompletableFuture<Void> copyAsync(ApiClient apiClient, String namespace, String podName, String containerName, Map<Path, Path> files, boolean gzip) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                copy(apiClient, namespace, podName, containerName, files, gzip);
+            } catch (ApiException | IOException e) {
+                throw new CompletionException(e);
+            }
+        }, COPY_EXECUTOR);
+    }
+
+    /**
+     * @param files source path (file or directory) to destination path in the container
+     * @param gzip  whether to compress the archive, worth it for text files over a slow connection
+     */
+    static void copy(ApiClient apiClient, String namespace, String podName, String containerName, Map<Path, Path> files, boolean gzip) throws ApiException, IOException {
+        SpillableBuffer archive = new SpillableBuffer("junit5-kubernetes-copy-temp");
+        try {
+            writeArchive(files, gzip, archive);
+            long encodedLength;
+            try (InputStream in = archive.getInputStream()) {
+                encodedLength = 4 * ((count(in) + 2) / 3);
+            }
+
+            String extract = "head -c " + encodedLength + " | base64 -d | tar -x" + (gzip ? "z" : "") + "mf - -C /";
+            Process proc = new Exec(apiClient).exec(namespace, podName, new String[]{"sh", "-c", extract}, containerName, true, false);
+            SpillableBuffer standardOut = new SpillableBuffer("junit5-kubernetes-copy-output-temp");
+            SpillableBuffer standardError = new SpillableBuffer("junit5-kubernetes-copy-error-temp");
+            try {
+                CompletableFuture<Void> out = StreamPump.pump(proc.getInputStream(), standardOut);
+                CompletableFuture<Void> errors = StreamPump.pump(proc.getErrorStream(), standardError);
+                try (InputStream in = archive.getInputStream();
+                     OutputStream stdin = Base64.getEncoder().wrap(proc.getOutputStream())) {
+                    IOUtils.copy(in, stdin);
+                }
+                proc.waitFor();
+                CompletableFuture.allOf(errors, out).join();
+                if (proc.exitValue() != 0) {
+                    String error;
+                    try (InputStream in = standardError.getInputStream()) {
+                        error = IOUtils.toString(in, StandardCharsets.UTF_8);
+                    }
+                    throw new IOException("Failed to copy " + files.keySet() + " to container " + containerName + " of pod " + podName + ": " + error);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while copying to pod " + podName, e);
+            } finally {
+                proc.destroy();
+                standardOut.delete();
+                standardError.delete();
+            }
+        } finally {
+            archive.delete();
+        }
+    }
+
+    private static void writeArchive(Map<Path, Path> files, boolean gzip, OutputStream output) throws IOException {
+        OutputStream stream = gzip ? new GZIPOutputStream(output, 64 * 1024) : output;
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(stream)) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (Map.Entry<Path, Path> file : files.entrySet()) {
+                Path source = file.getKey();
+                String destination = entryName(file.getValue());
+                if (Files.isDirectory(source)) {
+                    List<Path> children;
+                    try (Stream<Path> walk = Files.walk(source)) {
+                        children = walk.sorted().collect(Collectors.toList());
+                    }
+                    for (Path child : children) {
+                        String relative = source.relativize(child).toString().replace('\\', '/');
+                        addEntry(tar, child, relative.isEmpty() ? destination : destination + "/" + relative);
+                    }
+                } else {
+                    addEntry(tar, source, destination);
+                }
+            }
+            tar.finish();
+        }
+    }
+
+    private static void addEntry(TarArchiveOutputStream tar, Path source, String name) throws IOException {
+        // Built by hand rather than from the file: extended attributes such as the creation time would add pax
+        // headers that busybox tar warns about
+        boolean directory = Files.isDirectory(source);
+        TarArchiveEntry entry = new TarArchiveEntry(directory ? name + "/" : name);
+        entry.setModTime(Files.getLastModifiedTime(source).toMillis());
+        if (directory) {
+            entry.setMode(TarArchiveEntry.DEFAULT_DIR_MODE);
+        } else {
+            entry.setMode(Files.isExecutable(source) ? 0100755 : TarArchiveEntry.DEFAULT_FILE_MODE);
+            entry.setSize(Files.size(source));
+        }
+        tar.putArchiveEntry(entry);
+        if (!directory) {
+            Files.copy(source, tar);
+        }
+        tar.closeArchiveEntry();
+    }
+
+    private static String entryName(Path destination) {
+        String name = destination.toString().replace('\\', '/');
+        while (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        return name;
+    }
+
+    private static long count(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long count = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            count += read;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.client;
+
+import okhttp3.Interceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Kubernetes API calls made through the shared {@link io.kubernetes.client.openapi.ApiClient}, by verb and resource
+ * (eg. {@code get pods}, {@code watch pods}, {@code connect pods/exec}): count, errors, bytes sent and received,
+ * and latencies. The latency of a watch is how long its stream stayed open, with the number of events it received.
+ *
+ * Enabled with {@code junitKubernetesApiMetrics=true}: collected by an interceptor then added to the client created by
+ * {@link KubernetesClientRegistry}, add {@link #interceptor()} to your own clients to collect their calls too.
+ * Written to {@code build/junit5-kubernetes/api-calls.txt} (or under {@code junitKubernetesReportDir}) when the JVM exits.
+ */
+public final class ApiCallMetrics {
+    private static final String API_METRICS = System.getProperty("junitKubernetesApiMetrics");
+    private static final String REPORT_DIR = System.getProperty("junitKubernetesReportDir");
+    private static final String GRADLE_WORKER = System.getProperty("org.gradle.test.worker");
+    private static final Logger LOGGER = Logger.getLogger(ApiCallMetrics.class.getName());
+    private static final ApiCallMetrics DEFAULT = new ApiCallMetrics();
+
+    private final Map<String, Calls> calls = new ConcurrentHashMap<>();
+    private final AtomicBoolean dumpedOnExit = new AtomicBoolean();
+
+    public static ApiCallMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    static boolean isEnabled() {
+        return API_METRICS != null && API_METRICS.equalsIgnoreCase("true");
+    }
+
+    public Interceptor interceptor() {
+        return new ApiCallMetricsInterceptor(this);
+    }
+
+    Calls calls(String verb, String resource) {
+        String key = verb + " " + resource;
+        Calls existing = calls.get(key);
+        return existing != null ? existing : calls.computeIfAbsent(key, k -> new Calls(verb, resource));
+    }
+
+    /**
+     * @return the calls by verb and resource, sorted
+     */
+    public Map<String, Calls> getCalls() {
+        return Collections.unmodifiableMap(new TreeMap<>(calls));
+    }
+
+    public void reset() {
+        calls.clear();
+    }
+
+    void dumpOnExit() {
+        if (dumpedOnExit.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::dump, "junit5-kubernetes-api-metrics"));
+        }
+    }
+
+    private void dump() {
+        if (calls.isEmpty()) {
+            return;
+        }
+        Path directory = Paths.get(REPORT_DIR == null || REPORT_DIR.trim().isEmpty() ? "build/junit5-kubernetes" : REPORT_DIR.trim());
+        String suffix = GRADLE_WORKER != null ? "-" + GRADLE_WORKER : "";
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("api-calls" + suffix + ".txt"), toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the API calls metrics under " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Kubernetes API calls\n");
+        getCalls().forEach((key, stats) -> text.append(String.format("  %-32s%s%n", key, stats)));
+        return text.toString();
+    }
+
+    public static class Calls {
+        private final String verb;
+        private final String resource;
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder watchEvents = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Calls(String verb, String resource) {
+            this.verb = verb;
+            this.resource = resource;
+        }
+
+        void record(long nanos, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        void recordRequestBytes(long bytes) {
+            requestBytes.add(bytes);
+        }
+
+        void recordResponseBytes(long bytes) {
+            responseBytes.add(bytes);
+        }
+
+        void recordWatchEvents(long events) {
+            watchEvents.add(events);
+        }
+
+        public String getVerb() {
+            return verb;
+        }
+
+        public String getResource() {
+            return resource;
+        }
+
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        public long getWatchEvents() {
+            return watchEvents.sum();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return latency +
+                    " errors=" + getErrors() +
+                    " sent=" + getRequestBytes() + "B" +
+                    " received=" + getResponseBytes() + "B" +
+                    ("watch".equals(verb) ? " events=" + getWatchEvents() : "");
+        }
+    }
+}
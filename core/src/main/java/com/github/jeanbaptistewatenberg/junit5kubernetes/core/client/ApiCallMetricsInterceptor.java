@@ -0,0 +1,177 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Records each call in {@link ApiCallMetrics}: the latency up to the response headers, and the bytes of the response
+ * body as it is read. A watch is recorded once its stream is closed, counting one event per line.
+ */
+final class ApiCallMetricsInterceptor implements Interceptor {
+    private static final Set<String> CONNECT_SUBRESOURCES = new HashSet<>(Arrays.asList("exec", "attach", "portforward", "proxy"));
+    private static final int HTTP_SWITCHING_PROTOCOLS = 101;
+    private static final int HTTP_BAD_REQUEST = 400;
+
+    private final ApiCallMetrics metrics;
+
+    ApiCallMetricsInterceptor(ApiCallMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        List<String> path = resourcePath(request.url().pathSegments());
+        boolean watch = "true".equals(request.url().queryParameter("watch"));
+        ApiCallMetrics.Calls calls = metrics.calls(verbOf(request.method(), path, watch), resourceOf(path));
+        RequestBody requestBody = request.body();
+        long requestBytes = requestBody != null ? requestBody.contentLength() : 0;
+        if (requestBytes > 0) {
+            calls.recordRequestBytes(requestBytes);
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            calls.record(System.nanoTime() - start, true);
+            throw e;
+        }
+        boolean failed = response.code() >= HTTP_BAD_REQUEST;
+        ResponseBody body = response.body();
+        // Upgraded connections (exec, port forward) are not read through the body
+        if (body == null || response.code() == HTTP_SWITCHING_PROTOCOLS) {
+            calls.record(System.nanoTime() - start, failed);
+            return response;
+        }
+        if (!watch) {
+            calls.record(System.nanoTime() - start, failed);
+        }
+        CountingSource source = new CountingSource(body.source(), calls, watch ? start : -1, failed);
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(source)))
+                .build();
+    }
+
+    /**
+     * @return the segments after the API group and version, and after the namespace for namespaced resources,
+     * eg. {@code [pods, name, log]} for {@code /api/v1/namespaces/default/pods/name/log}
+     */
+    static List<String> resourcePath(List<String> segments) {
+        int start = 0;
+        if (!segments.isEmpty() && segments.get(0).equals("api")) {
+            start = 2;
+        } else if (!segments.isEmpty() && segments.get(0).equals("apis")) {
+            start = 3;
+        }
+        if (segments.size() <= start) {
+            return segments;
+        }
+        List<String> path = segments.subList(start, segments.size());
+        if (path.get(0).equals("namespaces") && path.size() > 2) {
+            return path.subList(2, path.size());
+        }
+        return path;
+    }
+
+    static String resourceOf(List<String> path) {
+        if (path.isEmpty()) {
+            return "/";
+        }
+        return path.size() > 2 ? path.get(0) + "/" + path.get(2) : path.get(0);
+    }
+
+    static String verbOf(String method, List<String> path, boolean watch) {
+        boolean named = path.size() > 1;
+        if (watch) {
+            return "watch";
+        }
+        if (path.size() > 2 && CONNECT_SUBRESOURCES.contains(path.get(2))) {
+            return "connect";
+        }
+        switch (method) {
+            case "GET":
+                return named ? "get" : "list";
+            case "POST":
+                return "create";
+            case "PUT":
+                return "update";
+            case "PATCH":
+                return "patch";
+            case "DELETE":
+                return named ? "delete" : "deletecollection";
+            default:
+                return method.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class CountingSource extends ForwardingSource {
+        private final ApiCallMetrics.Calls calls;
+        private final long watchStart;
+        private final boolean failed;
+        private boolean finished;
+
+        private CountingSource(Source delegate, ApiCallMetrics.Calls calls, long watchStart, boolean failed) {
+            super(delegate);
+            this.calls = calls;
+            this.watchStart = watchStart;
+            this.failed = failed;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long readFrom = sink.size();
+            long read = super.read(sink, byteCount);
+            if (read > 0) {
+                calls.recordResponseBytes(read);
+                if (watchStart >= 0) {
+                    countEvents(sink, readFrom);
+                }
+            } else if (read == -1) {
+                finish();
+            }
+            return read;
+        }
+
+        private void countEvents(Buffer sink, long readFrom) {
+            long events = 0;
+            long newLine = sink.indexOf((byte) '\n', readFrom);
+            while (newLine != -1) {
+                events++;
+                newLine = sink.indexOf((byte) '\n', newLine + 1);
+            }
+            calls.recordWatchEvents(events);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (!finished && watchStart >= 0) {
+                calls.record(System.nanoTime() - watchStart, failed);
+            }
+            finished = true;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.client;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.Configuration;
+import io.kubernetes.client.util.Config;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the {@link ApiClient} shared by every kubernetes object of the JVM.
+ *
+ * The client is created lazily on first access, so the kubeconfig is parsed once
+ * and all objects share the same connection pool and dispatcher.
+ */
+public final class KubernetesClientRegistry {
+    private static final String DEBUG = System.getProperty("junitKubernetesDebug");
+    private static final String DISABLE_HTTP2 = System.getProperty("junitKubernetesDisableHttp2");
+
+    private static volatile ApiClient apiClient;
+
+    private KubernetesClientRegistry() {
+    }
+
+    public static ApiClient getApiClient() {
+        ApiClient client = apiClient;
+        if (client == null) {
+            synchronized (KubernetesClientRegistry.class) {
+                client = apiClient;
+                if (client == null) {
+                    client = createApiClient();
+                    apiClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Replaces the shared client, eg. to point every object at another cluster.
+     *
+     * @param client the client to share, or null to go back to the kubeconfig based one
+     */
+    public static void setApiClient(ApiClient client) {
+        synchronized (KubernetesClientRegistry.class) {
+            apiClient = client;
+            if (client != null) {
+                Configuration.setDefaultApiClient(client);
+            }
+        }
+    }
+
+    private static ApiClient createApiClient() {
+        try {
+            ApiClient client = Config.defaultClient();
+            if (DEBUG != null && DEBUG.equalsIgnoreCase("true")) {
+                client.setDebugging(true);
+            }
+            // infinite timeout
+            OkHttpClient.Builder builder = client.getHttpClient().newBuilder()
+                    .readTimeout(0, TimeUnit.SECONDS);
+
+            if (DISABLE_HTTP2 != null && DISABLE_HTTP2.equalsIgnoreCase("true")) {
+                builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+            }
+            if (ApiCallMetrics.isEnabled()) {
+                builder.addInterceptor(ApiCallMetrics.getDefault().interceptor());
+                ApiCallMetrics.getDefault().dumpOnExit();
+            }
+
+            client.setHttpClient(builder.build());
+            // Exec, Copy and PodLogs helpers fall back to the default client
+            Configuration.setDefaultApiClient(client);
+            return client;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latencies counted in logarithmic buckets, each power of two split in 8, so within 12.5% of the recorded value.
+ *
+ * Recording only updates atomic counters, it neither allocates nor locks, so it can be done on every API call.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public Duration getMean() {
+        long calls = count.get();
+        return calls == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.get() / calls);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the highest value of the bucket holding the percentile, at most the max recorded
+     */
+    public Duration getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(highestValueOf(i), maxNanos.get()));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    static int bucketOf(long value) {
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value | 1);
+        if (magnitude < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() +
+                " p50=" + millis(getPercentile(50)) +
+                " p95=" + millis(getPercentile(95)) +
+                " p99=" + millis(getPercentile(99)) +
+                " max=" + millis(getMax());
+    }
+
+    private static String millis(Duration duration) {
+        return TimeUnit.NANOSECONDS.toMillis(duration.toNanos()) + "ms";
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An output stream kept in memory up to a threshold, then moved to a temp file.
+ *
+ * Written by one thread, then read (as many times as needed) once {@link #close()} has been called.
+ * {@link #delete()} removes the temp file right away instead of waiting for the JVM to exit.
+ */
+public final class SpillableBuffer extends OutputStream {
+    private static final String SPILL_THRESHOLD = System.getProperty("junitKubernetesExecSpillThreshold");
+    public static final int DEFAULT_SPILL_THRESHOLD = SPILL_THRESHOLD == null || SPILL_THRESHOLD.trim().isEmpty()
+            ? 1024 * 1024
+            : Integer.parseInt(SPILL_THRESHOLD.trim());
+    private static final Logger LOGGER = Logger.getLogger(SpillableBuffer.class.getName());
+
+    private final String spillFilePrefix;
+    private final int spillThreshold;
+    private byte[] memory = new byte[256];
+    private int count;
+    private Path spillFile;
+    private OutputStream spillStream;
+    private volatile boolean deleted;
+
+    public SpillableBuffer(String spillFilePrefix) {
+        this(spillFilePrefix, DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * @param spillFilePrefix prefix of the temp file created once the threshold is exceeded
+     * @param spillThreshold  maximum number of bytes kept in memory
+     */
+    public SpillableBuffer(String spillFilePrefix, int spillThreshold) {
+        this.spillFilePrefix = spillFilePrefix;
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (spillStream == null && count + length > spillThreshold) {
+            spill();
+        }
+        if (spillStream != null) {
+            spillStream.write(bytes, offset, length);
+            return;
+        }
+        if (count + length > memory.length) {
+            memory = Arrays.copyOf(memory, Math.min(spillThreshold, Math.max(memory.length * 2, count + length)));
+        }
+        System.arraycopy(bytes, offset, memory, count, length);
+        count += length;
+    }
+
+    private void spill() throws IOException {
+        spillFile = Files.createTempFile(spillFilePrefix, ".log");
+        spillStream = new BufferedOutputStream(Files.newOutputStream(spillFile));
+        spillStream.write(memory, 0, count);
+        memory = null;
+    }
+
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    public InputStream getInputStream() {
+        if (deleted) {
+            throw new IllegalStateException("Buffer was deleted");
+        }
+        if (spillFile == null) {
+            return new ByteArrayInputStream(memory, 0, count);
+        }
+        try {
+            return Files.newInputStream(spillFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spillStream != null) {
+            spillStream.close();
+        }
+    }
+
+    /**
+     * Releases the memory and deletes the temp file, if any.
+     */
+    public void delete() {
+        deleted = true;
+        memory = null;
+        if (spillFile != null) {
+            try {
+                if (spillStream != null) {
+                    spillStream.close();
+                }
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to delete " + spillFile, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies process streams on a shared pool of daemon threads instead of starting two threads per exec.
+ */
+public final class StreamPump {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final ExecutorService PUMP_EXECUTOR;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+        PUMP_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-exec-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private StreamPump() {
+    }
+
+    /**
+     * Copies the input to the output until the end of the input, then closes the output.
+     *
+     * @return a future completed once the copy is done, exceptionally with an {@link UncheckedIOException} if it failed
+     */
+    public static CompletableFuture<Void> pump(InputStream input, OutputStream output) {
+        return CompletableFuture.runAsync(() -> {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream out = output) {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, PUMP_EXECUTOR);
+    }
+
+    /**
+     * Copies the input to the output until the end of the input, then runs {@code onEnd} (eg. shuts down the output
+     * of a socket, still reading from it). Nothing is closed when the copy fails.
+     *
+     * @return a future completed once the copy is done, exceptionally with an {@link UncheckedIOException} if it failed
+     */
+    public static CompletableFuture<Void> pump(InputStream input, OutputStream output, Closeable onEnd) {
+        return CompletableFuture.runAsync(() -> {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                    output.flush();
+                }
+                onEnd.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, PUMP_EXECUTOR);
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward;
+
+import io.kubernetes.client.PortForward;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Opens streams with the port-forward subresource of the pod, a websocket over the connection pool of the API client.
+ *
+ * The kubelet reports a failed connection to the port (eg. nothing listening on it yet) on the error channel of the
+ * stream: reading what the pod sends then fails with that error, instead of just ending.
+ */
+public final class KubernetesStreamOpener implements StreamOpener {
+    private final PortForward portForward;
+    private final String namespace;
+    private final String podName;
+
+    public KubernetesStreamOpener(ApiClient apiClient, String namespace, String podName) {
+        this.portForward = new PortForward(apiClient);
+        this.namespace = namespace;
+        this.podName = podName;
+    }
+
+    @Override
+    public PortStream open(int podPort) throws IOException {
+        try {
+            PortForward.PortForwardResult result = portForward.forward(namespace, podName, Collections.singletonList(podPort));
+            return portStream(podPort, podName, result.getInputStream(podPort), result.getOutboundStream(podPort), result.getErrorStream(podPort));
+        } catch (ApiException e) {
+            throw new IOException("Failed to forward port " + podPort + " of pod " + podName + ", Kubernetes API replied with " + e.getCode() + " and body " + e.getResponseBody(), e);
+        }
+    }
+
+    /**
+     * @return a stream failing with what the kubelet sent on the error channel once the data channel ends,
+     * and closing the error channel with the others
+     */
+    static PortStream portStream(int podPort, String podName, InputStream data, OutputStream outbound, InputStream errors) {
+        return new PortStream(new ErrorReportingInputStream(podPort, podName, data, errors), outbound, errors);
+    }
+
+    private static final class ErrorReportingInputStream extends FilterInputStream {
+        private final int podPort;
+        private final String podName;
+        private final InputStream errors;
+
+        private ErrorReportingInputStream(int podPort, String podName, InputStream data, InputStream errors) {
+            super(data);
+            this.podPort = podPort;
+            this.podName = podName;
+            this.errors = errors;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read == -1) {
+                throwReportedError();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read == -1) {
+                throwReportedError();
+            }
+            return read;
+        }
+
+        private void throwReportedError() throws IOException {
+            ByteArrayOutputStream error = new ByteArrayOutputStream();
+            // Only what was received: the error channel may stay open after the data one ended
+            byte[] buffer = new byte[1024];
+            int available;
+            while ((available = errors.available()) > 0) {
+                int read = errors.read(buffer, 0, Math.min(available, buffer.length));
+                if (read == -1) {
+                    break;
+                }
+                error.write(buffer, 0, read);
+            }
+            if (error.size() > 0) {
+                throw new IOException("Port " + podPort + " of pod " + podName + " closed the stream: " + new String(error.toByteArray(), StandardCharsets.UTF_8).trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec.StreamPump;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local listeners forwarding every accepted connection to a port of a pod.
+ *
+ * The stream to the pod is opened once a connection is accepted, on a thread of its own so that the listener
+ * keeps accepting. Streams are not opened in advance: an idle one would hold a backend process of the application,
+ * could be closed by it (eg. a handshake timeout) or fail because the application was not listening yet.
+ */
+public final class PortForwarder implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(PortForwarder.class.getName());
+    private static final ExecutorService ACCEPT_EXECUTOR;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+        ACCEPT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-forward-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final StreamOpener streamOpener;
+    private final Map<Integer, Listener> listeners = new ConcurrentHashMap<>();
+
+    public PortForwarder(StreamOpener streamOpener) {
+        this.streamOpener = streamOpener;
+    }
+
+    /**
+     * Starts listening on a local port for the given pod port, if not done yet.
+     *
+     * @return the local port
+     */
+    public int forward(int podPort) {
+        return listeners.computeIfAbsent(podPort, port -> {
+            try {
+                Listener listener = new Listener(port);
+                ACCEPT_EXECUTOR.execute(listener::acceptConnections);
+                return listener;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to listen for pod port " + port, e);
+            }
+        }).serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the local ports by pod port
+     */
+    public Map<Integer, Integer> getLocalPorts() {
+        Map<Integer, Integer> localPorts = new ConcurrentHashMap<>();
+        listeners.forEach((podPort, listener) -> localPorts.put(podPort, listener.serverSocket.getLocalPort()));
+        return localPorts;
+    }
+
+    @Override
+    public void close() {
+        listeners.values().forEach(Listener::close);
+        listeners.clear();
+    }
+
+    private final class Listener {
+        private final int podPort;
+        private final ServerSocket serverSocket;
+        private volatile boolean closed;
+
+        private Listener(int podPort) throws IOException {
+            this.podPort = podPort;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        }
+
+        private void acceptConnections() {
+            while (!closed) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException e) {
+                    if (!closed) {
+                        LOGGER.log(Level.WARNING, "Stopped forwarding pod port " + podPort, e);
+                    }
+                    return;
+                }
+                ACCEPT_EXECUTOR.execute(() -> {
+                    try {
+                        connect(socket, streamOpener.open(podPort));
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Failed to open a stream to pod port " + podPort, e);
+                        closeQuietly(socket);
+                    }
+                });
+            }
+        }
+
+        /**
+         * A side ending what it sends only shuts down the output of the other one, which may still answer
+         * (eg. a client shutting down its output once its request is sent). Both are closed once both ended, or on error.
+         */
+        private void connect(Socket socket, PortStream stream) throws IOException {
+            CompletableFuture<Void> toPod = StreamPump.pump(socket.getInputStream(), stream.getOutputStream(), stream::shutdownOutput);
+            CompletableFuture<Void> fromPod = StreamPump.pump(stream.getInputStream(), socket.getOutputStream(), socket::shutdownOutput);
+            Runnable closeConnection = () -> {
+                closeQuietly(socket);
+                closeQuietly(stream);
+            };
+            // Unblocks the other direction
+            toPod.exceptionally(failure -> {
+                closeConnection.run();
+                return null;
+            });
+            fromPod.exceptionally(failure -> {
+                closeConnection.run();
+                return null;
+            });
+            CompletableFuture.allOf(toPod, fromPod).whenComplete((done, failure) -> {
+                if (failure != null && !closed) {
+                    LOGGER.log(Level.WARNING, "Connection to pod port " + podPort + " failed", failure);
+                }
+                closeConnection.run();
+            });
+        }
+
+        private void close() {
+            closed = true;
+            closeQuietly(serverSocket);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to close " + closeable, e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * One connection to a port of a pod: what the pod sends, and what to send to it.
+ * Closing the output stream only ends what is sent to the pod.
+ */
+public final class PortStream implements Closeable {
+    private final InputStream inputStream;
+    private final OutputStream outputStream;
+    private final Closeable onClose;
+
+    public PortStream(InputStream inputStream, OutputStream outputStream, Closeable onClose) {
+        this.inputStream = inputStream;
+        this.outputStream = outputStream;
+        this.onClose = onClose;
+    }
+
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Tells the pod nothing more will be sent, while still reading what it sends.
+     */
+    public void shutdownOutput() throws IOException {
+        outputStream.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            outputStream.close();
+        } finally {
+            try {
+                inputStream.close();
+            } finally {
+                if (onClose != null) {
+                    onClose.close();
+                }
+            }
+        }
+    }
+}
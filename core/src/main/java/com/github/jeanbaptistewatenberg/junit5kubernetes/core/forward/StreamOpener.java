@@ -0,0 +1,16 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward;
+
+import java.io.IOException;
+
+/**
+ * Opens a stream to a port of a pod, see {@link KubernetesStreamOpener}.
+ */
+@FunctionalInterface
+public interface StreamOpener {
+
+    /**
+     * @param podPort the container port to connect to
+     * @return a new connection to the port
+     */
+    PortStream open(int podPort) throws IOException;
+}
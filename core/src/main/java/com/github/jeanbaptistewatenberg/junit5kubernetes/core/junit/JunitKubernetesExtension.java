@@ -1,5 +1,6 @@
 package com.github.jeanbaptistewatenberg.junit5kubernetes.core.junit;
 
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.BackgroundDeleter;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.KubernetesGenericObject;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.KubernetesObject;
 import org.junit.jupiter.api.extension.*;
@@ -8,28 +9,35 @@ import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.commons.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.util.LinkedHashSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
 // Strongly inspired by test containers junit extension https://github.com/testcontainers/testcontainers-java/blob/master/modules/junit-jupiter/src/main/java/org/testcontainers/junit/jupiter/TestcontainersExtension.java
-public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback, TestInstancePostProcessor {
+public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
 
     private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(JunitKubernetesExtension.class);
-    private static final String TEST_INSTANCE = "testInstance";
     private static final String SHARED_LIFECYCLE_AWARE_CONTAINERS = "sharedLifecycleAwareContainers";
     private static final String LOCAL_LIFECYCLE_AWARE_CONTAINERS = "localLifecycleAwareContainers";
-
-    @Override
-    public void postProcessTestInstance(Object testInstance, ExtensionContext context) throws Exception {
-        ExtensionContext.Store store = context.getStore(NAMESPACE);
-        store.put(TEST_INSTANCE, testInstance);
-    }
+    private static final String BACKGROUND_DELETIONS_BARRIER = "backgroundDeletionsBarrier";
+    private static final String STARTUP_REPORT = "startupReport";
+    private static final String TEST_CLASS_START = "testClassStart";
+    private static final Duration BACKGROUND_DELETIONS_TIMEOUT = Duration.ofMinutes(2);
+    private static final String STARTUP_CONCURRENCY = System.getProperty("junitKubernetesStartupConcurrency");
 
     @Override
     public void beforeAll(ExtensionContext context) throws Exception {
@@ -37,9 +45,20 @@ public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCall
                 .orElseThrow(() -> new ExtensionConfigurationException("JunitKubernetesExtension is only supported for classes."));
 
         ExtensionContext.Store store = context.getStore(NAMESPACE);
+        if (BackgroundDeleter.isEnabled()) {
+            // The root store is closed once every test ran, after the stores of the test classes
+            context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(BACKGROUND_DELETIONS_BARRIER,
+                    k -> (ExtensionContext.Store.CloseableResource) () -> BackgroundDeleter.awaitPendingDeletions(BACKGROUND_DELETIONS_TIMEOUT));
+        }
+        store.put(TEST_CLASS_START, System.nanoTime());
         List<StoreAdapter> sharedContainersStoreAdapters = findSharedKubernetesObject(testClass);
 
-        sharedContainersStoreAdapters.forEach(adapter -> store.getOrComputeIfAbsent(adapter.getKey(), k -> adapter.start()));
+        List<StoreAdapter> adaptersToStart = sharedContainersStoreAdapters.stream()
+                .filter(adapter -> store.get(adapter.getKey()) == null)
+                .collect(toList());
+        startAndReport(adaptersToStart, context, false);
+        // Only expose objects to the store (and its close callback) once every one of them is ready
+        adaptersToStart.forEach(adapter -> store.getOrComputeIfAbsent(adapter.getKey(), k -> adapter));
 
         List<TestLifecycleAware> lifecycleAwareContainers = sharedContainersStoreAdapters
                 .stream()
@@ -51,9 +70,126 @@ public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCall
         signalBeforeTestToContainers(lifecycleAwareContainers, testDescriptionFrom(context));
     }
 
+    private static void startAndReport(List<StoreAdapter> adapters, ExtensionContext context, boolean duringTests) {
+        StartupReport report = startupReport(context);
+        if (report == null || adapters.isEmpty()) {
+            startConcurrently(adapters);
+            return;
+        }
+        String testClass = context.getRequiredTestClass().getName();
+        long start = System.nanoTime();
+        startConcurrently(adapters);
+        report.recordStartup(testClass, System.nanoTime() - start);
+        adapters.forEach(adapter -> adapter.reportTeardownTo(report, testClass, duringTests));
+    }
+
+    /**
+     * @return the report of the run, written once every test ran, or null if disabled
+     */
+    private static StartupReport startupReport(ExtensionContext context) {
+        if (!StartupReport.isEnabled()) {
+            return null;
+        }
+        // Written when the root store is closed, after the teardown of every test class
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(STARTUP_REPORT, k -> StartupReport.create(), StartupReport.class);
+    }
+
+    private static void startConcurrently(List<StoreAdapter> adapters) {
+        int concurrency = Math.min(startupConcurrency(), adapters.size());
+        if (concurrency <= 1) {
+            startSequentially(adapters);
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "junit5-kubernetes-startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<StoreAdapter>> futures = adapters.stream()
+                    .map(adapter -> adapter.startAsync(executor))
+                    .collect(toList());
+
+            List<StoreAdapter> startedAdapters = new ArrayList<>();
+            RuntimeException failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    startedAdapters.add(futures.get(i).join());
+                } catch (CompletionException | CancellationException e) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (failure == null) {
+                        failure = new RuntimeException("Failed to start kubernetes object " + adapters.get(i).getKey(), cause);
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+
+            if (failure != null) {
+                closeConcurrently(startedAdapters, executor, failure);
+                throw failure;
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void closeConcurrently(List<StoreAdapter> adapters, Executor executor, Throwable failure) {
+        List<CompletableFuture<Void>> removals = adapters.stream()
+                .map(adapter -> adapter.closeAsync(executor))
+                .collect(toList());
+        for (CompletableFuture<Void> removal : removals) {
+            try {
+                removal.join();
+            } catch (CompletionException | CancellationException e) {
+                failure.addSuppressed(e.getCause() != null ? e.getCause() : e);
+            }
+        }
+    }
+
+    private static void startSequentially(List<StoreAdapter> adapters) {
+        List<StoreAdapter> startedAdapters = new ArrayList<>();
+        for (StoreAdapter adapter : adapters) {
+            try {
+                startedAdapters.add(adapter.start());
+            } catch (RuntimeException e) {
+                closeQuietly(startedAdapters, e);
+                throw e;
+            }
+        }
+    }
+
+    private static void closeQuietly(List<StoreAdapter> adapters, Throwable failure) {
+        for (StoreAdapter adapter : adapters) {
+            try {
+                adapter.close();
+            } catch (RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    private static int startupConcurrency() {
+        if (STARTUP_CONCURRENCY != null && !STARTUP_CONCURRENCY.trim().isEmpty()) {
+            try {
+                return Integer.parseInt(STARTUP_CONCURRENCY.trim());
+            } catch (NumberFormatException e) {
+                throw new ExtensionConfigurationException("junitKubernetesStartupConcurrency must be an integer, got " + STARTUP_CONCURRENCY);
+            }
+        }
+        return Math.max(4, Runtime.getRuntime().availableProcessors());
+    }
+
     @Override
     public void afterAll(ExtensionContext context) throws Exception {
         signalAfterTestToContainersFor(SHARED_LIFECYCLE_AWARE_CONTAINERS, context);
+        StartupReport report = startupReport(context);
+        Long testClassStart = context.getStore(NAMESPACE).get(TEST_CLASS_START, Long.class);
+        if (report != null && testClassStart != null) {
+            report.recordTestClass(context.getRequiredTestClass().getName(), System.nanoTime() - testClassStart);
+        }
     }
 
     private boolean isTestLifecycleAware(StoreAdapter adapter) {
@@ -64,9 +200,17 @@ public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCall
     public void beforeEach(ExtensionContext context) throws Exception {
         ExtensionContext.Store store = context.getStore(NAMESPACE);
 
-        List<TestLifecycleAware> lifecycleAwareContainers = collectParentTestInstances(context).parallelStream()
+        List<StoreAdapter> restartContainersStoreAdapters = context.getRequiredTestInstances().getAllInstances().stream()
                 .flatMap(this::findRestartContainers)
-                .peek(adapter -> store.getOrComputeIfAbsent(adapter.getKey(), k -> adapter.start()))
+                .collect(toList());
+
+        List<StoreAdapter> adaptersToStart = restartContainersStoreAdapters.stream()
+                .filter(adapter -> store.get(adapter.getKey()) == null)
+                .collect(toList());
+        startAndReport(adaptersToStart, context, true);
+        adaptersToStart.forEach(adapter -> store.getOrComputeIfAbsent(adapter.getKey(), k -> adapter));
+
+        List<TestLifecycleAware> lifecycleAwareContainers = restartContainersStoreAdapters.stream()
                 .filter(this::isTestLifecycleAware)
                 .map(lifecycleAwareAdapter -> (TestLifecycleAware) lifecycleAwareAdapter.container)
                 .collect(toList());
@@ -94,20 +238,6 @@ public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCall
         }
     }
 
-    private Set<Object> collectParentTestInstances(final ExtensionContext context) {
-        Set<Object> testInstances = new LinkedHashSet<>();
-        Optional<ExtensionContext> current = Optional.of(context);
-        while (current.isPresent()) {
-            ExtensionContext ctx = current.get();
-            Object testInstance = ctx.getStore(NAMESPACE).remove(TEST_INSTANCE);
-            if (testInstance != null) {
-                testInstances.add(testInstance);
-            }
-            current = ctx.getParent();
-        }
-        return testInstances;
-    }
-
     private TestDescription testDescriptionFrom(ExtensionContext context) {
         return new TestContainersTestDescription(
                 context.getUniqueId(),
@@ -171,29 +301,110 @@ public class JunitKubernetesExtension implements BeforeAllCallback, AfterAllCall
      * An adapter for {@link KubernetesGenericObject} that implement {@link ExtensionContext.Store.CloseableResource}
      * thereby letting the JUnit automatically stop containers once the current
      * {@link ExtensionContext} is closed.
+     *
+     * With parallel execution, the same object may be needed by several contexts at the same time, eg. a static object
+     * of a base class with subclasses running concurrently, or an object of a per class test instance with concurrent
+     * test methods. It is then created once, and removed when the last of these contexts is closed.
      */
     private static class StoreAdapter implements ExtensionContext.Store.CloseableResource {
+        private static final Map<KubernetesGenericObject<?>, SharedStart> STARTED_OBJECTS = new IdentityHashMap<>();
+
         private String key;
 
-        private KubernetesGenericObject container;
+        private KubernetesGenericObject<?> container;
+
+        private StartupReport report;
+
+        private String testClass;
+
+        private boolean duringTests;
 
-        private StoreAdapter(Class<?> declaringClass, String fieldName, KubernetesGenericObject container) {
+        private StoreAdapter(Class<?> declaringClass, String fieldName, KubernetesGenericObject<?> container) {
             this.key = declaringClass.getName() + "." + fieldName;
             this.container = container;
         }
 
         private StoreAdapter start() {
-            container.create();
-            return this;
+            try {
+                return startAsync(Runnable::run).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        private CompletableFuture<StoreAdapter> startAsync(Executor executor) {
+            CompletableFuture<?> creation;
+            synchronized (STARTED_OBJECTS) {
+                SharedStart sharedStart = STARTED_OBJECTS.get(container);
+                if (sharedStart == null) {
+                    sharedStart = new SharedStart(container.createAsync(executor));
+                    STARTED_OBJECTS.put(container, sharedStart);
+                }
+                sharedStart.users++;
+                creation = sharedStart.creation;
+            }
+            return creation.handle((created, failure) -> {
+                if (failure != null) {
+                    release();
+                    throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+                }
+                return this;
+            });
+        }
+
+        /**
+         * @return true if no other context uses the object anymore
+         */
+        private boolean release() {
+            synchronized (STARTED_OBJECTS) {
+                SharedStart sharedStart = STARTED_OBJECTS.get(container);
+                if (sharedStart == null) {
+                    return false;
+                }
+                sharedStart.users--;
+                if (sharedStart.users > 0) {
+                    return false;
+                }
+                STARTED_OBJECTS.remove(container);
+                return true;
+            }
         }
 
         public String getKey() {
             return key;
         }
 
+        private void reportTeardownTo(StartupReport report, String testClass, boolean duringTests) {
+            this.report = report;
+            this.testClass = testClass;
+            this.duringTests = duringTests;
+        }
+
         @Override
         public void close() {
-            container.remove();
+            if (release()) {
+                long start = System.nanoTime();
+                container.remove();
+                if (report != null) {
+                    report.recordTeardown(testClass, System.nanoTime() - start, duringTests);
+                }
+            }
+        }
+
+        private CompletableFuture<Void> closeAsync(Executor executor) {
+            return release() ? container.removeAsync(executor) : CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static class SharedStart {
+        private final CompletableFuture<?> creation;
+        private int users;
+
+        private SharedStart(CompletableFuture<?> creation) {
+            this.creation = creation;
         }
     }
 }
@@ -0,0 +1,262 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.junit;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleListener;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleListeners;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecyclePhase;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleTimings;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup and teardown statistics of a test run, per test class and per pod spec (type and images).
+ *
+ * Enabled with {@code junitKubernetesStartupReport=true}. Written when the test plan ends to {@code startup-report.json}
+ * and {@code startup-report.txt} under {@code junitKubernetesReportDir} (defaults to {@code build/junit5-kubernetes},
+ * relative to the working directory), with the Gradle test worker id appended when tests are forked.
+ * The phases read from the cluster are only requested with {@code junitKubernetesStartupReportClusterPhases=true}.
+ */
+final class StartupReport implements LifecycleListener, ExtensionContext.Store.CloseableResource {
+    private static final String STARTUP_REPORT = System.getProperty("junitKubernetesStartupReport");
+    private static final String CLUSTER_PHASES = System.getProperty("junitKubernetesStartupReportClusterPhases");
+    private static final String REPORT_DIR = System.getProperty("junitKubernetesReportDir");
+    private static final String GRADLE_WORKER = System.getProperty("org.gradle.test.worker");
+    private static final Logger LOGGER = Logger.getLogger(StartupReport.class.getName());
+
+    private final Path directory;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, TestClassStats> testClasses = new TreeMap<>();
+    private final Map<String, SpecStats> specs = new TreeMap<>();
+    private final Map<String, SpecStats> specsByObjectName = new LinkedHashMap<>();
+
+    StartupReport(Path directory) {
+        this.directory = directory;
+    }
+
+    static boolean isEnabled() {
+        return STARTUP_REPORT != null && STARTUP_REPORT.equalsIgnoreCase("true");
+    }
+
+    static StartupReport create() {
+        StartupReport report = new StartupReport(Paths.get(REPORT_DIR == null || REPORT_DIR.trim().isEmpty()
+                ? "build/junit5-kubernetes"
+                : REPORT_DIR.trim()));
+        LifecycleListeners.register(report);
+        return report;
+    }
+
+    /**
+     * Time a test class waited for its objects to start, before all its tests or before one of them.
+     */
+    synchronized void recordStartup(String testClass, long nanos) {
+        testClass(testClass).startup.add(nanos);
+    }
+
+    /**
+     * Time a test class waited for its objects to be removed.
+     *
+     * @param duringTests true for objects of test instances, removed while the tests of the class run
+     */
+    synchronized void recordTeardown(String testClass, long nanos, boolean duringTests) {
+        TestClassStats stats = testClass(testClass);
+        stats.teardown.add(nanos);
+        if (duringTests) {
+            stats.teardownDuringTestsNanos += nanos;
+        }
+    }
+
+    /**
+     * Time from the start of the class to the end of its last test.
+     */
+    synchronized void recordTestClass(String testClass, long nanos) {
+        testClass(testClass).wallNanos += nanos;
+    }
+
+    @Override
+    public synchronized void objectCreated(LifecycleTimings timings) {
+        String key = timings.getObjectType() + " " + timings.getImages();
+        SpecStats stats = specs.computeIfAbsent(key, k -> new SpecStats(timings.getObjectType(), timings.getImages()));
+        stats.created.add(timings.getTotal().toNanos());
+        if (timings.isReused()) {
+            stats.reused++;
+        }
+        timings.getPhases().forEach((phase, duration) -> stats.phases.computeIfAbsent(phase, p -> new Samples()).add(duration.toNanos()));
+        specsByObjectName.put(timings.getObjectName(), stats);
+    }
+
+    @Override
+    public boolean needsClusterPhases() {
+        return CLUSTER_PHASES != null && CLUSTER_PHASES.equalsIgnoreCase("true");
+    }
+
+    @Override
+    public synchronized void objectRemoved(String objectType, String objectName, Duration duration) {
+        SpecStats stats = specsByObjectName.remove(objectName);
+        if (stats != null) {
+            stats.removed.add(duration.toNanos());
+        }
+    }
+
+    @Override
+    public void close() {
+        LifecycleListeners.unregister(this);
+        String suffix = GRADLE_WORKER != null ? "-" + GRADLE_WORKER : "";
+        try {
+            Files.createDirectories(directory);
+            Map<String, Object> json;
+            String text;
+            synchronized (this) {
+                json = toJson();
+                text = toText();
+            }
+            Files.write(directory.resolve("startup-report" + suffix + ".json"),
+                    new GsonBuilder().setPrettyPrinting().create().toJson(json).getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("startup-report" + suffix + ".txt"), text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the startup report under " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    private TestClassStats testClass(String testClass) {
+        return testClasses.computeIfAbsent(testClass, k -> new TestClassStats());
+    }
+
+    private Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("startedAt", startedAt.toString());
+        json.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        List<Map<String, Object>> classes = new ArrayList<>();
+        testClasses.forEach((name, stats) -> {
+            Map<String, Object> testClass = new LinkedHashMap<>();
+            testClass.put("testClass", name);
+            testClass.put("startup", stats.startup.toJson());
+            testClass.put("teardown", stats.teardown.toJson());
+            testClass.put("waitingMs", TimeUnit.NANOSECONDS.toMillis(stats.waitingNanos()));
+            testClass.put("executingMs", TimeUnit.NANOSECONDS.toMillis(stats.executingNanos()));
+            classes.add(testClass);
+        });
+        json.put("testClasses", classes);
+        List<Map<String, Object>> podSpecs = new ArrayList<>();
+        specs.values().forEach(stats -> {
+            Map<String, Object> spec = new LinkedHashMap<>();
+            spec.put("objectType", stats.objectType);
+            spec.put("images", stats.images);
+            spec.put("created", stats.created.toJson());
+            spec.put("reused", stats.reused);
+            Map<String, Object> phases = new LinkedHashMap<>();
+            stats.phases.forEach((phase, samples) -> phases.put(phase.name(), samples.toJson()));
+            spec.put("phases", phases);
+            spec.put("removed", stats.removed.toJson());
+            podSpecs.add(spec);
+        });
+        json.put("podSpecs", podSpecs);
+        return json;
+    }
+
+    private String toText() {
+        StringBuilder text = new StringBuilder("junit5-kubernetes startup report, run started at ").append(startedAt).append("\n\nTest classes\n");
+        testClasses.forEach((name, stats) -> text.append("  ").append(name).append('\n')
+                .append("    startup   ").append(stats.startup).append('\n')
+                .append("    teardown  ").append(stats.teardown).append('\n')
+                .append("    waiting ").append(TimeUnit.NANOSECONDS.toMillis(stats.waitingNanos())).append("ms, executing tests ")
+                .append(TimeUnit.NANOSECONDS.toMillis(stats.executingNanos())).append("ms\n"));
+        text.append("\nPod specs\n");
+        specs.values().forEach(stats -> {
+            text.append("  ").append(stats.objectType).append(' ').append(stats.images).append('\n')
+                    .append("    created   ").append(stats.created).append(", ").append(stats.reused).append(" reused\n");
+            stats.phases.forEach((phase, samples) -> text.append(String.format("    %-20s%s%n", phase, samples)));
+            text.append("    removed   ").append(stats.removed).append('\n');
+        });
+        return text.toString();
+    }
+
+    private static final class TestClassStats {
+        private final Samples startup = new Samples();
+        private final Samples teardown = new Samples();
+        private long teardownDuringTestsNanos;
+        private long wallNanos;
+
+        private long waitingNanos() {
+            return startup.totalNanos() + teardown.totalNanos();
+        }
+
+        private long executingNanos() {
+            return Math.max(0, wallNanos - startup.totalNanos() - teardownDuringTestsNanos);
+        }
+    }
+
+    private static final class SpecStats {
+        private final String objectType;
+        private final List<String> images;
+        private final Samples created = new Samples();
+        private final Map<LifecyclePhase, Samples> phases = new EnumMap<>(LifecyclePhase.class);
+        private final Samples removed = new Samples();
+        private int reused;
+
+        private SpecStats(String objectType, List<String> images) {
+            this.objectType = objectType;
+            this.images = images;
+        }
+    }
+
+    /**
+     * Durations kept as they are, a run only has a few of them per class or spec.
+     */
+    static final class Samples {
+        private final List<Long> nanos = new ArrayList<>();
+
+        void add(long value) {
+            nanos.add(value);
+        }
+
+        long totalNanos() {
+            return nanos.stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * @return the nearest rank percentile, in milliseconds
+         */
+        long percentileMillis(double percentile) {
+            if (nanos.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(nanos);
+            Collections.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+            return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, rank - 1)));
+        }
+
+        private Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("count", nanos.size());
+            json.put("p50Ms", percentileMillis(50));
+            json.put("p95Ms", percentileMillis(95));
+            json.put("maxMs", percentileMillis(100));
+            json.put("totalMs", TimeUnit.NANOSECONDS.toMillis(totalNanos()));
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            return nanos.size() + " x p50=" + percentileMillis(50) + "ms p95=" + percentileMillis(95) + "ms max=" + percentileMillis(100) + "ms";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Commits a {@code junit5kubernetes.LifecyclePhase} Flight Recorder event per phase, and a
+ * {@code junit5kubernetes.ObjectRemoved} one per removal.
+ *
+ * The event types are defined at runtime with {@code jdk.jfr.EventFactory}, through reflection, so that the library
+ * still runs on JVMs without Flight Recorder.
+ */
+final class JfrLifecycleListener implements LifecycleListener {
+    private static final Logger LOGGER = Logger.getLogger(JfrLifecycleListener.class.getName());
+
+    private final Object phaseEventFactory;
+    private final Object removedEventFactory;
+    private final Method newEvent;
+    private final Method set;
+    private final Method commit;
+    private final Method isInitialized;
+    private final Method getFlightRecorder;
+    private final Method getRecordings;
+
+    private JfrLifecycleListener() throws ReflectiveOperationException {
+        Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+        Class<?> event = Class.forName("jdk.jfr.Event");
+        Class<?> flightRecorder = Class.forName("jdk.jfr.FlightRecorder");
+        Method create = eventFactory.getMethod("create", List.class, List.class);
+        this.phaseEventFactory = create.invoke(null,
+                eventAnnotations("junit5kubernetes.LifecyclePhase", "Kubernetes Object Lifecycle Phase"),
+                Arrays.asList(field(String.class, "objectType"), field(String.class, "objectName"), field(String.class, "phase"), timespan("phaseDuration")));
+        this.removedEventFactory = create.invoke(null,
+                eventAnnotations("junit5kubernetes.ObjectRemoved", "Kubernetes Object Removed"),
+                Arrays.asList(field(String.class, "objectType"), field(String.class, "objectName"), timespan("removalDuration")));
+        this.newEvent = eventFactory.getMethod("newEvent");
+        this.set = event.getMethod("set", int.class, Object.class);
+        this.commit = event.getMethod("commit");
+        this.isInitialized = flightRecorder.getMethod("isInitialized");
+        this.getFlightRecorder = flightRecorder.getMethod("getFlightRecorder");
+        this.getRecordings = flightRecorder.getMethod("getRecordings");
+    }
+
+    static JfrLifecycleListener createIfAvailable() {
+        try {
+            return new JfrLifecycleListener();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.FINE, "Flight Recorder is not available, lifecycle events are not recorded", e);
+            return null;
+        }
+    }
+
+    boolean isRecording() {
+        try {
+            // Checked first so that the recorder is not started just to look at its recordings
+            return (Boolean) isInitialized.invoke(null)
+                    && !((List<?>) getRecordings.invoke(getFlightRecorder.invoke(null))).isEmpty();
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void objectCreated(LifecycleTimings timings) {
+        for (Map.Entry<LifecyclePhase, Duration> phase : timings.getPhases().entrySet()) {
+            commit(phaseEventFactory, timings.getObjectType(), timings.getObjectName(), phase.getKey().name(), phase.getValue().toNanos());
+        }
+    }
+
+    @Override
+    public void objectRemoved(String objectType, String objectName, Duration duration) {
+        commit(removedEventFactory, objectType, objectName, duration.toNanos());
+    }
+
+    private void commit(Object factory, Object... values) {
+        try {
+            Object event = newEvent.invoke(factory);
+            for (int i = 0; i < values.length; i++) {
+                set.invoke(event, i, values[i]);
+            }
+            commit.invoke(event);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.FINE, "Failed to commit lifecycle event", e);
+        }
+    }
+
+    private static List<Object> eventAnnotations(String name, String label) throws ReflectiveOperationException {
+        return Arrays.asList(
+                annotation("jdk.jfr.Name", name),
+                annotation("jdk.jfr.Label", label),
+                annotation("jdk.jfr.Category", new String[]{"junit5-kubernetes"}));
+    }
+
+    private static Object field(Class<?> type, String name) throws ReflectiveOperationException {
+        return Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class).newInstance(type, name);
+    }
+
+    private static Object timespan(String name) throws ReflectiveOperationException {
+        Constructor<?> constructor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+        return constructor.newInstance(long.class, name, Collections.singletonList(annotation("jdk.jfr.Timespan", "NANOSECONDS")));
+    }
+
+    private static Object annotation(String annotationType, Object value) throws ReflectiveOperationException {
+        Constructor<?> constructor = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+        return constructor.newInstance(Class.forName(annotationType), value);
+    }
+}
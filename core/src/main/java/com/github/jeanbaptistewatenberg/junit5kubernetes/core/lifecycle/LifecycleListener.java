@@ -0,0 +1,25 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+import java.time.Duration;
+
+/**
+ * Notified of the creation and removal of objects, see {@link LifecycleListeners}.
+ *
+ * Implementations listed in {@code META-INF/services/com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleListener}
+ * are loaded with the {@link java.util.ServiceLoader}. They are called from the thread creating the object, keep them fast.
+ */
+public interface LifecycleListener {
+
+    void objectCreated(LifecycleTimings timings);
+
+    default void objectRemoved(String objectType, String objectName, Duration duration) {
+    }
+
+    /**
+     * @return whether the timings must include the scheduling, image pulls and containers start phases,
+     * read from the cluster with two API calls per pod once it is ready
+     */
+    default boolean needsClusterPhases() {
+        return true;
+    }
+}
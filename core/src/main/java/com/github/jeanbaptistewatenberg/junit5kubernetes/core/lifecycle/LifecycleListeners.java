@@ -0,0 +1,83 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes lifecycle timings to the registered listeners, the ones found with the {@link ServiceLoader},
+ * and as JDK Flight Recorder events when a recording is running.
+ */
+public final class LifecycleListeners {
+    private static final Logger LOGGER = Logger.getLogger(LifecycleListeners.class.getName());
+    private static final List<LifecycleListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final JfrLifecycleListener JFR_LISTENER = JfrLifecycleListener.createIfAvailable();
+
+    static {
+        for (LifecycleListener listener : ServiceLoader.load(LifecycleListener.class)) {
+            LISTENERS.add(listener);
+        }
+    }
+
+    private LifecycleListeners() {
+    }
+
+    public static void register(LifecycleListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unregister(LifecycleListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * @return false when nobody listens, so that timings which cost API calls can be skipped
+     */
+    public static boolean hasListeners() {
+        return !LISTENERS.isEmpty() || (JFR_LISTENER != null && JFR_LISTENER.isRecording());
+    }
+
+    /**
+     * @return whether a listener, or a running recording, needs the phases read from the cluster
+     */
+    public static boolean needsClusterPhases() {
+        for (LifecycleListener listener : LISTENERS) {
+            if (listener.needsClusterPhases()) {
+                return true;
+            }
+        }
+        return JFR_LISTENER != null && JFR_LISTENER.isRecording();
+    }
+
+    public static void publishCreated(LifecycleTimings timings) {
+        for (LifecycleListener listener : listeners()) {
+            try {
+                listener.objectCreated(timings);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Lifecycle listener " + listener + " failed", e);
+            }
+        }
+    }
+
+    public static void publishRemoved(String objectType, String objectName, Duration duration) {
+        for (LifecycleListener listener : listeners()) {
+            try {
+                listener.objectRemoved(objectType, objectName, duration);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Lifecycle listener " + listener + " failed", e);
+            }
+        }
+    }
+
+    private static List<LifecycleListener> listeners() {
+        if (JFR_LISTENER == null || !JFR_LISTENER.isRecording()) {
+            return LISTENERS;
+        }
+        List<LifecycleListener> listeners = new CopyOnWriteArrayList<>(LISTENERS);
+        listeners.add(JFR_LISTENER);
+        return listeners;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+/**
+ * Steps of the creation of an object, in order.
+ *
+ * {@link #SCHEDULED}, {@link #IMAGE_PULLED} and {@link #CONTAINERS_STARTED} are read from the pod status and events,
+ * at the precision of the cluster timestamps (the second), and happen while {@link #WAIT_STRATEGY} runs.
+ */
+public enum LifecyclePhase {
+    /** Building the spec, including {@code onBeforeCreateKubernetesObject} */
+    PREPARE_SPEC,
+    /** Calls creating the pod (and its service) */
+    API_CREATE,
+    /** From the creation of the pod to its scheduling on a node */
+    SCHEDULED,
+    /** From the scheduling to the last image pulled */
+    IMAGE_PULLED,
+    /** From the last image pulled (or the scheduling when no image was pulled) to the last container started */
+    CONTAINERS_STARTED,
+    /** Until the wait strategy is satisfied */
+    WAIT_STRATEGY,
+    /** Files copied once the pod is started */
+    FILE_COPY,
+    /** {@code onKubernetesObjectReady}, eg. init scripts or broker commands */
+    OBJECT_READY
+}
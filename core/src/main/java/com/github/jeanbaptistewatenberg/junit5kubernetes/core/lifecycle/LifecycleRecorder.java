@@ -0,0 +1,49 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the phase durations of one creation of an object.
+ */
+public final class LifecycleRecorder {
+    private final String objectType;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<LifecyclePhase, Duration> phases = new EnumMap<>(LifecyclePhase.class);
+    private volatile boolean reused;
+
+    public LifecycleRecorder(String objectType) {
+        this.objectType = objectType;
+    }
+
+    /**
+     * Records the phase as lasting from the given {@link System#nanoTime()} to now.
+     *
+     * @return now, to chain with the next phase
+     */
+    public long recordSince(LifecyclePhase phase, long startNanos) {
+        long now = System.nanoTime();
+        record(phase, Duration.ofNanos(now - startNanos));
+        return now;
+    }
+
+    public synchronized void record(LifecyclePhase phase, Duration duration) {
+        phases.merge(phase, duration, Duration::plus);
+    }
+
+    public void markReused() {
+        this.reused = true;
+    }
+
+    public boolean isReused() {
+        return reused;
+    }
+
+    public synchronized LifecycleTimings toTimings(String objectName, List<String> images) {
+        return new LifecycleTimings(objectType, objectName, images, reused, startedAt, Duration.ofNanos(System.nanoTime() - startNanos), phases);
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How long each phase of the creation of an object took.
+ */
+public final class LifecycleTimings {
+    private final String objectType;
+    private final String objectName;
+    private final List<String> images;
+    private final boolean reused;
+    private final Instant startedAt;
+    private final Duration total;
+    private final Map<LifecyclePhase, Duration> phases;
+
+    LifecycleTimings(String objectType, String objectName, List<String> images, boolean reused, Instant startedAt, Duration total, Map<LifecyclePhase, Duration> phases) {
+        this.objectType = objectType;
+        this.objectName = objectName;
+        this.images = Collections.unmodifiableList(images);
+        this.reused = reused;
+        this.startedAt = startedAt;
+        this.total = total;
+        Map<LifecyclePhase, Duration> phasesInOrder = new EnumMap<>(LifecyclePhase.class);
+        phasesInOrder.putAll(phases);
+        this.phases = Collections.unmodifiableMap(phasesInOrder);
+    }
+
+    /**
+     * @return these timings with the given phases added, measured apart from the creation (eg. read from the cluster),
+     * the total unchanged
+     */
+    public LifecycleTimings withPhases(Map<LifecyclePhase, Duration> addedPhases) {
+        Map<LifecyclePhase, Duration> allPhases = new EnumMap<>(LifecyclePhase.class);
+        allPhases.putAll(phases);
+        addedPhases.forEach((phase, duration) -> allPhases.merge(phase, duration, Duration::plus));
+        return new LifecycleTimings(objectType, objectName, images, reused, startedAt, total, allPhases);
+    }
+
+    /**
+     * @return the simple class name of the object, eg. {@code PostgreSQLPod}
+     */
+    public String getObjectType() {
+        return objectType;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * @return the images of the containers, which together with the type tell objects with the same spec apart
+     */
+    public List<String> getImages() {
+        return images;
+    }
+
+    /**
+     * @return true if an already running pod was taken (from the pool or a previous run) instead of creating one
+     */
+    public boolean isReused() {
+        return reused;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Duration getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the duration of the phases that ran, in order
+     */
+    public Map<LifecyclePhase, Duration> getPhases() {
+        return phases;
+    }
+
+    @Override
+    public String toString() {
+        return "LifecycleTimings{" +
+                "objectType=" + objectType +
+                ", objectName=" + objectName +
+                ", reused=" + reused +
+                ", total=" + total.toMillis() + "ms" +
+                ", phases=" + phases +
+                '}';
+    }
+}
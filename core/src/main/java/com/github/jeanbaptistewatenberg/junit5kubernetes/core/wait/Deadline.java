@@ -0,0 +1,93 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A point in time measured on the monotonic clock ({@link System#nanoTime()}).
+ *
+ * A deadline can close a blocking resource (watch, event stream, log stream) when it is reached, so a wait
+ * never outlives its timeout even when the resource stops producing anything.
+ */
+public final class Deadline {
+    private static final Logger LOGGER = Logger.getLogger(Deadline.class.getName());
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "junit5-kubernetes-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Duration timeout;
+    private final long startNanos;
+    private final long deadlineNanos;
+
+    private Deadline(Duration timeout) {
+        this.timeout = timeout;
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = startNanos + toNanos(timeout);
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(timeout);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Closes the resource when the deadline is reached, unless the returned alarm is closed before.
+     *
+     * @param resource the resource to close, nothing is scheduled if it is not {@link AutoCloseable}
+     * @return the alarm, to close once the wait is over
+     */
+    public Alarm closeOnExpiry(Object resource) {
+        if (!(resource instanceof AutoCloseable)) {
+            return () -> {
+            };
+        }
+        AutoCloseable closeable = (AutoCloseable) resource;
+        ScheduledFuture<?> scheduled = SCHEDULER.schedule(() -> {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Failed to close " + closeable + " on deadline", e);
+            }
+        }, remainingNanos(), TimeUnit.NANOSECONDS);
+        return () -> scheduled.cancel(false);
+    }
+
+    private static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    public interface Alarm extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -1,11 +1,37 @@
 package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait;
 
+import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
-import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.util.Watch;
 
-import java.io.IOException;
-
 public interface IWaitStrategy<T> {
-    void apply(Watch<T> resourceWatch, final T createdResource) throws ApiException;
+    /**
+     * Implemented by every strategy, only left default for strategies written against {@link #apply(Watch, Object)}.
+     *
+     * @param resourceEvents events of the created resource, either a {@link Watch} or a stream fed by a shared watch
+     * @param createdResource the resource as returned by its creation
+     */
+    default void apply(Iterable<Watch.Response<T>> resourceEvents, final T createdResource) throws ApiException {
+        throw new UnsupportedOperationException(getClass().getName() + " implements no apply method");
+    }
+
+    /**
+     * Former signature, still supported: a strategy implementing only this one is applied to a watch of its own
+     * instead of the shared pod watch.
+     *
+     * @deprecated implement {@link #apply(Iterable, Object)}, a {@link Watch} being an {@link Iterable} of its events
+     */
+    @Deprecated
+    default void apply(Watch<T> resourceWatch, final T createdResource) throws ApiException {
+        apply((Iterable<Watch.Response<T>>) resourceWatch, createdResource);
+    }
+
+    /**
+     * Called by the objects with their own client, for strategies making API calls of their own.
+     *
+     * @param apiClient the client the resource was created with
+     */
+    default void apply(Iterable<Watch.Response<T>> resourceEvents, final T createdResource, ApiClient apiClient) throws ApiException {
+        apply(resourceEvents, createdResource);
+    }
 }
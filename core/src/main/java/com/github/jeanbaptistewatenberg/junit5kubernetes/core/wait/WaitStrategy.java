@@ -15,4 +15,13 @@ public abstract class WaitStrategy<T> implements IWaitStrategy<T> {
     public Duration getTimeout() {
         return timeout;
     }
+
+    /**
+     * The strategy to wait for another resource of the same spec, eg. a pod started by a {@code PodPool}.
+     * This one by default, as strategies should keep the state of a wait local to {@link #apply}; a strategy keeping
+     * state in its fields must return a new instance.
+     */
+    public WaitStrategy<T> forAnotherResource() {
+        return this;
+    }
 }
@@ -0,0 +1,66 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.Deadline;
+import io.kubernetes.client.openapi.models.V1ContainerStatus;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodCondition;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+
+/**
+ * Builds the failure messages of the pod wait strategies out of the last known state of the pod.
+ */
+final class PodDiagnostics {
+
+    private PodDiagnostics() {
+    }
+
+    static RuntimeException timeout(String what, V1Pod pod, Deadline deadline) {
+        return new RuntimeException(what + " " + nameOf(pod) + " before timeout " + deadline.getTimeout()
+                + " (waited " + deadline.elapsed().toMillis() + " ms), last known status : " + describe(pod));
+    }
+
+    static String nameOf(V1Pod pod) {
+        return pod.getMetadata() == null ? "<unknown>" : pod.getMetadata().getName();
+    }
+
+    static String describe(V1Pod pod) {
+        V1PodStatus status = pod.getStatus();
+        if (status == null) {
+            return "no status";
+        }
+        StringBuilder description = new StringBuilder("phase=").append(status.getPhase());
+        if (status.getReason() != null) {
+            description.append(", reason=").append(status.getReason());
+        }
+        if (status.getConditions() != null) {
+            for (V1PodCondition condition : status.getConditions()) {
+                if (!"True".equals(condition.getStatus())) {
+                    description.append(", ").append(condition.getType()).append("=").append(condition.getStatus());
+                    if (condition.getMessage() != null) {
+                        description.append(" (").append(condition.getMessage()).append(")");
+                    }
+                }
+            }
+        }
+        if (status.getContainerStatuses() != null) {
+            for (V1ContainerStatus containerStatus : status.getContainerStatuses()) {
+                description.append(", container ").append(containerStatus.getName());
+                if (containerStatus.getState() != null && containerStatus.getState().getWaiting() != null) {
+                    description.append(" waiting: ").append(containerStatus.getState().getWaiting().getReason());
+                    if (containerStatus.getState().getWaiting().getMessage() != null) {
+                        description.append(" (").append(containerStatus.getState().getWaiting().getMessage()).append(")");
+                    }
+                } else if (containerStatus.getState() != null && containerStatus.getState().getTerminated() != null) {
+                    description.append(" terminated: ").append(containerStatus.getState().getTerminated().getReason())
+                            .append(" exit code ").append(containerStatus.getState().getTerminated().getExitCode());
+                } else {
+                    description.append(Boolean.TRUE.equals(containerStatus.getReady()) ? " ready" : " not ready");
+                }
+                if (containerStatus.getRestartCount() != null && containerStatus.getRestartCount() > 0) {
+                    description.append(", ").append(containerStatus.getRestartCount()).append(" restart(s)");
+                }
+            }
+        }
+        return description.toString();
+    }
+}
@@ -1,7 +1,13 @@
 package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod;
 
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.client.KubernetesClientRegistry;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.Deadline;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.WaitStrategy;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log.LogLineSplitter;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log.LogMatcher;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log.LogPattern;
 import io.kubernetes.client.PodLogs;
+import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodStatus;
@@ -10,86 +16,105 @@ import io.kubernetes.client.util.Watch;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.Scanner;
 
 public class PodWaitLogStrategy extends WaitStrategy<V1Pod> {
-    private String text;
-    private int times = 1;
+    private final LogMatcher logMatcher;
 
     public PodWaitLogStrategy(String text) {
-        super();
-        this.text = text;
+        this(text, 1);
     }
 
     public PodWaitLogStrategy(String text, int times) {
         super();
-        this.text = text;
-        this.times = times;
+        this.logMatcher = LogMatcher.anyOf(LogPattern.of(text, times));
     }
 
     public PodWaitLogStrategy(String text, Duration timeout) {
-        super(timeout);
-        this.text = text;
+        this(text, 1, timeout);
     }
 
     public PodWaitLogStrategy(String text, int times, Duration timeout) {
         super(timeout);
-        this.text = text;
-        this.times = times;
+        this.logMatcher = LogMatcher.anyOf(LogPattern.of(text, times));
+    }
+
+    /**
+     * @param logMatcher the patterns to look for, eg. {@code LogMatcher.inOrder(LogPattern.of("init done"), LogPattern.of(".*ready.*", 2))}
+     */
+    public PodWaitLogStrategy(LogMatcher logMatcher) {
+        super();
+        this.logMatcher = logMatcher;
+    }
+
+    public PodWaitLogStrategy(LogMatcher logMatcher, Duration timeout) {
+        super(timeout);
+        this.logMatcher = logMatcher;
     }
 
     public String getText() {
-        return text;
+        return logMatcher.getPatterns().get(0).getTextOrRegex();
     }
 
     public int getTimes() {
-        return times;
+        return logMatcher.getPatterns().get(0).getTimes();
     }
 
+    public LogMatcher getLogMatcher() {
+        return logMatcher;
+    }
 
     @Override
-    public void apply(Watch<V1Pod> resourceWatch, V1Pod createdResource) throws ApiException {
-        LocalDateTime startTime = LocalDateTime.now();
-        PodLogs logs = new PodLogs();
-        //Wait pod to start
+    public void apply(Iterable<Watch.Response<V1Pod>> resourceWatch, V1Pod createdResource) throws ApiException {
+        apply(resourceWatch, createdResource, KubernetesClientRegistry.getApiClient());
+    }
 
-        for (Watch.Response<V1Pod> item : resourceWatch) {
-            String name = item.object.getMetadata().getName();
-            if (name.equals(createdResource.getMetadata().getName())) {
-                V1PodStatus podStatus = item.object.getStatus();
-                if (LocalDateTime.now().isAfter(startTime.plus(this.getTimeout()))) {
-                    throw new RuntimeException("Failed to start resource " + createdResource + " before timeout " + this.getTimeout());
-                }
-                if (podStatus == null || podStatus.getPhase().equalsIgnoreCase("Pending") || podStatus.getPhase().equalsIgnoreCase("Unknown")) {
-                    continue;
+    @Override
+    public void apply(Iterable<Watch.Response<V1Pod>> resourceWatch, V1Pod createdResource, ApiClient apiClient) throws ApiException {
+        Deadline deadline = Deadline.after(this.getTimeout());
+        PodLogs logs = new PodLogs(apiClient);
+        //Wait pod to start
+        V1Pod lastPod = createdResource;
+        boolean podStarted = false;
+        try (Deadline.Alarm ignored = deadline.closeOnExpiry(resourceWatch)) {
+            for (Watch.Response<V1Pod> item : resourceWatch) {
+                String name = item.object.getMetadata().getName();
+                if (name.equals(createdResource.getMetadata().getName())) {
+                    lastPod = item.object;
+                    V1PodStatus podStatus = item.object.getStatus();
+                    if (deadline.isExpired()) {
+                        break;
+                    }
+                    if (podStatus == null || podStatus.getPhase().equalsIgnoreCase("Pending") || podStatus.getPhase().equalsIgnoreCase("Unknown")) {
+                        continue;
+                    }
+                    podStarted = true;
+                    break;
                 }
-                break;
             }
+        } catch (RuntimeException e) {
+            if (!deadline.isExpired()) {
+                throw e;
+            }
+        }
+        if (!podStarted) {
+            throw PodDiagnostics.timeout("Failed to start resource", lastPod, deadline);
         }
 
         //Read pods logs
-        try (InputStream is = logs.streamNamespacedPodLog(createdResource)) {
-            Scanner sc = new Scanner(is);
-            int conditionMetTimes = 0;
-            String textOrRegex = this.getText();
-            int howManyTimesShouldConditionMet = this.getTimes();
-            while (sc.hasNextLine() && LocalDateTime.now().isBefore(startTime.plus(this.getTimeout()))) {
-                String input = sc.nextLine();
-                //Check if log line matches the expected text or regex
-                if (input.matches(textOrRegex) || input.contains(textOrRegex)) {
-                    conditionMetTimes++;
-                    if (conditionMetTimes == howManyTimesShouldConditionMet) {
-                        break;
-                    }
-                }
+        LogMatcher.Match match = logMatcher.newMatch();
+        try (InputStream is = logs.streamNamespacedPodLog(createdResource);
+             Deadline.Alarm ignored = deadline.closeOnExpiry(is)) {
+            new LogLineSplitter().split(is, line -> !match.accept(line) && !deadline.isExpired());
+        } catch (IOException e) {
+            if (!deadline.isExpired()) {
+                throw new RuntimeException(e);
             }
+        }
 
-            if (conditionMetTimes != howManyTimesShouldConditionMet) {
-                throw new RuntimeException("Failed to find (x" + howManyTimesShouldConditionMet + ") " + textOrRegex + " in log of resource " + createdResource + " before timeout " + this.getTimeout());
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (!match.isSatisfied()) {
+            String reason = deadline.isExpired() ? "before timeout " + this.getTimeout() : "before its log stream ended";
+            throw new RuntimeException("Failed to find " + match.describeMissing() + " in log of resource " + PodDiagnostics.nameOf(lastPod)
+                    + " " + reason + " (waited " + deadline.elapsed().toMillis() + " ms), last known status : " + PodDiagnostics.describe(lastPod));
         }
     }
 }
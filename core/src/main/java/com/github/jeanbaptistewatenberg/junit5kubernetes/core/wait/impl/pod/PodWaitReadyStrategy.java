@@ -1,5 +1,6 @@
 package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod;
 
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.Deadline;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.WaitStrategy;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.models.V1ContainerStatus;
@@ -8,7 +9,6 @@ import io.kubernetes.client.openapi.models.V1PodStatus;
 import io.kubernetes.client.util.Watch;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,15 +27,19 @@ public class PodWaitReadyStrategy extends WaitStrategy<V1Pod> {
     }
 
     @Override
-    public void apply(Watch<V1Pod> resourceWatch, V1Pod createdResource) throws ApiException {
-        boolean podSuccessfullyStarted = false;
-        LocalDateTime startTime = LocalDateTime.now();
-        for (Watch.Response<V1Pod> item : resourceWatch) {
-            String name = item.object.getMetadata().getName();
-            if (name.equals(createdResource.getMetadata().getName())) {
-                V1PodStatus podStatus = item.object.getStatus();
-                Map<String, Boolean> containerStatuses = new HashMap<>();
-                if (LocalDateTime.now().isBefore(startTime.plus(this.getTimeout()))) {
+    public void apply(Iterable<Watch.Response<V1Pod>> resourceWatch, V1Pod createdResource) throws ApiException {
+        Deadline deadline = Deadline.after(this.getTimeout());
+        V1Pod lastPod = createdResource;
+        try (Deadline.Alarm ignored = deadline.closeOnExpiry(resourceWatch)) {
+            for (Watch.Response<V1Pod> item : resourceWatch) {
+                String name = item.object.getMetadata().getName();
+                if (name.equals(createdResource.getMetadata().getName())) {
+                    lastPod = item.object;
+                    V1PodStatus podStatus = item.object.getStatus();
+                    Map<String, Boolean> containerStatuses = new HashMap<>();
+                    if (deadline.isExpired()) {
+                        break;
+                    }
                     if (podStatus == null || podStatus.getContainerStatuses() == null) {
                         continue;
                     }
@@ -46,17 +50,16 @@ public class PodWaitReadyStrategy extends WaitStrategy<V1Pod> {
                     }
                     Optional<Boolean> anyNotReadyContainer = containerStatuses.values().stream().filter(isReady -> !isReady).findAny();
                     if (!anyNotReadyContainer.isPresent()) {
-                        podSuccessfullyStarted = true;
-                        break;
+                        return;
                     }
-                } else {
-                    break;
                 }
             }
+        } catch (RuntimeException e) {
+            if (!deadline.isExpired()) {
+                throw e;
+            }
         }
 
-        if (!podSuccessfullyStarted) {
-            throw new RuntimeException("Failed to run pod " + this + " before timeout " + this.getTimeout());
-        }
+        throw PodDiagnostics.timeout("Failed to run pod", lastPod, deadline);
     }
 }
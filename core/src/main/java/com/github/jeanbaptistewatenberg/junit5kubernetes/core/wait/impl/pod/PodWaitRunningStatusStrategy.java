@@ -1,38 +1,50 @@
 package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod;
 
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.Deadline;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.WaitStrategy;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodStatus;
 import io.kubernetes.client.util.Watch;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 
 public class PodWaitRunningStatusStrategy extends WaitStrategy<V1Pod> {
 
+    public PodWaitRunningStatusStrategy() {
+        super();
+    }
+
+    public PodWaitRunningStatusStrategy(Duration timeout) {
+        super(timeout);
+    }
+
     @Override
-    public void apply(Watch<V1Pod> podWatch, V1Pod createdPod) {
-        boolean podSuccessfullyStarted = false;
-        LocalDateTime startTime = LocalDateTime.now();
+    public void apply(Iterable<Watch.Response<V1Pod>> podWatch, V1Pod createdPod) {
+        Deadline deadline = Deadline.after(this.getTimeout());
+        V1Pod lastPod = createdPod;
+        try (Deadline.Alarm ignored = deadline.closeOnExpiry(podWatch)) {
             for (Watch.Response<V1Pod> item : podWatch) {
                 String name = item.object.getMetadata().getName();
                 if (name.equals(createdPod.getMetadata().getName())) {
+                    lastPod = item.object;
                     V1PodStatus podStatus = item.object.getStatus();
-                    if (LocalDateTime.now().isBefore(startTime.plus(this.getTimeout()))) {
-                        if (podStatus == null) {
-                            continue;
-                        }
-                        if (podStatus.getPhase().equalsIgnoreCase("Running")) {
-                            podSuccessfullyStarted = true;
-                            break;
-                        }
-                    } else {
+                    if (deadline.isExpired()) {
                         break;
                     }
+                    if (podStatus == null) {
+                        continue;
+                    }
+                    if (podStatus.getPhase().equalsIgnoreCase("Running")) {
+                        return;
+                    }
                 }
             }
-
-        if (!podSuccessfullyStarted) {
-            throw new RuntimeException("Failed to run pod " + this + " before timeout " + this.getTimeout());
+        } catch (RuntimeException e) {
+            if (!deadline.isExpired()) {
+                throw e;
+            }
         }
+
+        throw PodDiagnostics.timeout("Failed to run pod", lastPod, deadline);
     }
 }
@@ -0,0 +1,85 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Splits a stream into lines reading it through a large buffer, without the per line overhead of a {@link java.util.Scanner}.
+ */
+public final class LogLineSplitter {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final int bufferSize;
+    private final Charset charset;
+
+    public LogLineSplitter() {
+        this(DEFAULT_BUFFER_SIZE, StandardCharsets.UTF_8);
+    }
+
+    public LogLineSplitter(int bufferSize, Charset charset) {
+        this.bufferSize = bufferSize;
+        this.charset = charset;
+    }
+
+    /**
+     * @param input the stream to read, it is not closed
+     * @param lineHandler called with each line (without its line terminator), returns false to stop reading
+     * @return true if the handler stopped the reading, false if the end of the stream was reached
+     */
+    public boolean split(InputStream input, Predicate<String> lineHandler) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        // bytes of a line started in a previous read
+        byte[] pending = new byte[256];
+        int pendingLength = 0;
+        int read;
+        while ((read = input.read(buffer, 0, buffer.length)) != -1) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                String line;
+                if (pendingLength > 0) {
+                    pending = append(pending, pendingLength, buffer, lineStart, i - lineStart);
+                    line = decode(pending, pendingLength + i - lineStart);
+                    pendingLength = 0;
+                } else {
+                    line = decode(buffer, lineStart, i - lineStart);
+                }
+                if (!lineHandler.test(line)) {
+                    return true;
+                }
+                lineStart = i + 1;
+            }
+            if (lineStart < read) {
+                pending = append(pending, pendingLength, buffer, lineStart, read - lineStart);
+                pendingLength += read - lineStart;
+            }
+        }
+        return pendingLength > 0 && !lineHandler.test(decode(pending, pendingLength));
+    }
+
+    private static byte[] append(byte[] pending, int pendingLength, byte[] bytes, int offset, int length) {
+        byte[] target = pending;
+        if (pendingLength + length > pending.length) {
+            target = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(bytes, offset, target, pendingLength, length);
+        return target;
+    }
+
+    private String decode(byte[] bytes, int length) {
+        return decode(bytes, 0, length);
+    }
+
+    private String decode(byte[] bytes, int offset, int length) {
+        if (length > 0 && bytes[offset + length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, offset, length, charset);
+    }
+}
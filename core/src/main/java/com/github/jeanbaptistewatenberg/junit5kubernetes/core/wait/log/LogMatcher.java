@@ -0,0 +1,114 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Combines several {@link LogPattern}s: any of them, all of them, or all of them in order.
+ *
+ * A matcher is immutable and can be shared, each wait tracks its progress with its own {@link Match}.
+ */
+public final class LogMatcher {
+    public enum Mode {
+        ANY_OF, ALL_OF, IN_ORDER
+    }
+
+    private final Mode mode;
+    private final List<LogPattern> patterns;
+
+    private LogMatcher(Mode mode, List<LogPattern> patterns) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("A log matcher needs at least one pattern");
+        }
+        this.mode = mode;
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+    }
+
+    public static LogMatcher anyOf(LogPattern... patterns) {
+        return new LogMatcher(Mode.ANY_OF, Arrays.asList(patterns));
+    }
+
+    public static LogMatcher allOf(LogPattern... patterns) {
+        return new LogMatcher(Mode.ALL_OF, Arrays.asList(patterns));
+    }
+
+    public static LogMatcher inOrder(LogPattern... patterns) {
+        return new LogMatcher(Mode.IN_ORDER, Arrays.asList(patterns));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public List<LogPattern> getPatterns() {
+        return patterns;
+    }
+
+    public Match newMatch() {
+        return new Match();
+    }
+
+    @Override
+    public String toString() {
+        return mode + patterns.toString();
+    }
+
+    /**
+     * Progress of one log against the matcher.
+     */
+    public final class Match {
+        private final int[] counts = new int[patterns.size()];
+        private int satisfiedPatterns = 0;
+        private int currentPattern = 0;
+        private boolean satisfied = false;
+
+        /**
+         * @param line a log line, without its line terminator
+         * @return whether the matcher is now satisfied
+         */
+        public boolean accept(String line) {
+            if (satisfied) {
+                return true;
+            }
+            if (mode == Mode.IN_ORDER) {
+                LogPattern pattern = patterns.get(currentPattern);
+                if (pattern.matches(line) && ++counts[currentPattern] == pattern.getTimes()) {
+                    currentPattern++;
+                    satisfied = currentPattern == patterns.size();
+                }
+                return satisfied;
+            }
+            for (int i = 0; i < counts.length; i++) {
+                LogPattern pattern = patterns.get(i);
+                if (counts[i] < pattern.getTimes() && pattern.matches(line) && ++counts[i] == pattern.getTimes()) {
+                    satisfiedPatterns++;
+                    if (mode == Mode.ANY_OF || satisfiedPatterns == counts.length) {
+                        satisfied = true;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public boolean isSatisfied() {
+            return satisfied;
+        }
+
+        /**
+         * @return the patterns not found enough times yet, with how many times they were found
+         */
+        public String describeMissing() {
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] < patterns.get(i).getTimes()) {
+                    missing.add(patterns.get(i) + " found " + counts[i] + " time(s)");
+                }
+            }
+            return mode + missing.stream().collect(Collectors.joining(", ", "[", "]"));
+        }
+    }
+}
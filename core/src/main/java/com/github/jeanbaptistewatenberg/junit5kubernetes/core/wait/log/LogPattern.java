@@ -0,0 +1,76 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A text or regex expected in a log, a given number of times.
+ *
+ * A line matches when it contains the text or when it fully matches it as a regex. The regex is compiled once,
+ * and regexes of the form {@code .*literal.*} are turned into a plain {@link String#contains(CharSequence)}.
+ * An invalid regex throws a {@link java.util.regex.PatternSyntaxException}: use {@link #literal(String)} for text
+ * such as {@code [INFO]}.
+ */
+public final class LogPattern {
+    private static final Pattern SURROUNDED_LITERAL = Pattern.compile("^\\.\\*([^\\\\\\[\\](){}.*+?^$|]+)\\.\\*$");
+
+    private final String textOrRegex;
+    private final int times;
+    private final String literal;
+    private final Pattern regex;
+
+    private LogPattern(String textOrRegex, int times, boolean literalOnly) {
+        if (times < 1) {
+            throw new IllegalArgumentException("A log pattern must be expected at least once, got " + times);
+        }
+        this.textOrRegex = textOrRegex;
+        this.times = times;
+        Matcher surroundedLiteral = SURROUNDED_LITERAL.matcher(textOrRegex);
+        if (literalOnly) {
+            this.literal = textOrRegex;
+            this.regex = null;
+        } else if (surroundedLiteral.matches()) {
+            this.literal = surroundedLiteral.group(1);
+            this.regex = null;
+        } else {
+            this.literal = textOrRegex;
+            this.regex = Pattern.compile(textOrRegex);
+        }
+    }
+
+    public static LogPattern of(String textOrRegex) {
+        return new LogPattern(textOrRegex, 1, false);
+    }
+
+    public static LogPattern of(String textOrRegex, int times) {
+        return new LogPattern(textOrRegex, times, false);
+    }
+
+    /**
+     * @return a pattern matching lines containing the text, never read as a regex
+     */
+    public static LogPattern literal(String text) {
+        return new LogPattern(text, 1, true);
+    }
+
+    public static LogPattern literal(String text, int times) {
+        return new LogPattern(text, times, true);
+    }
+
+    public String getTextOrRegex() {
+        return textOrRegex;
+    }
+
+    public int getTimes() {
+        return times;
+    }
+
+    public boolean matches(String line) {
+        return line.contains(literal) || (regex != null && regex.matcher(line).matches());
+    }
+
+    @Override
+    public String toString() {
+        return "(x" + times + ") " + textOrRegex;
+    }
+}
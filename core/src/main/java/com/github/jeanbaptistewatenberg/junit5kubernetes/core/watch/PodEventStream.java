@@ -0,0 +1,104 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.watch;
+
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.util.Watch;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Events of a single pod, fed by a {@link SharedPodWatcher}.
+ *
+ * Iterating blocks until the next event arrives and stops once the stream is closed.
+ */
+public class PodEventStream implements Iterable<Watch.Response<V1Pod>>, PodWatchSubscription {
+    private static final Object CLOSED = new Object();
+
+    private final String podName;
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+    private volatile PodWatchSubscription subscription;
+    private volatile V1Pod lastPod;
+    private volatile boolean closed = false;
+
+    PodEventStream(String podName) {
+        this.podName = podName;
+    }
+
+    void setSubscription(PodWatchSubscription subscription) {
+        this.subscription = subscription;
+    }
+
+    public String getPodName() {
+        return podName;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return the pod as of the last event received, or null if none was received yet
+     */
+    public V1Pod getLastPod() {
+        return lastPod;
+    }
+
+    void publish(Watch.Response<V1Pod> event) {
+        if (!closed) {
+            lastPod = event.object;
+            events.offer(event);
+        }
+    }
+
+    @Override
+    public Iterator<Watch.Response<V1Pod>> iterator() {
+        return new Iterator<Watch.Response<V1Pod>>() {
+            private Watch.Response<V1Pod> next;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean hasNext() {
+                if (next != null) {
+                    return true;
+                }
+                if (closed) {
+                    return false;
+                }
+                try {
+                    Object event = events.take();
+                    if (event == CLOSED) {
+                        return false;
+                    }
+                    next = (Watch.Response<V1Pod>) event;
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+
+            @Override
+            public Watch.Response<V1Pod> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more events for pod " + podName);
+                }
+                Watch.Response<V1Pod> event = next;
+                next = null;
+                return event;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (subscription != null) {
+                subscription.close();
+            }
+            events.offer(CLOSED);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.watch;
+
+import java.io.Closeable;
+
+/**
+ * Registration of a pod listener on a {@link SharedPodWatcher}, closing it stops the notifications.
+ */
+public interface PodWatchSubscription extends Closeable {
+    @Override
+    void close();
+}
@@ -0,0 +1,214 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.watch;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.Pod;
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.util.Watch;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A single, long-lived watch on the pods created by the extension in a namespace.
+ *
+ * Events are dispatched by pod name to the listeners and {@link PodEventStream}s subscribed to that pod,
+ * so every waiter only sees the events of its own pod and the JVM holds one watch
+ * connection per namespace instead of one per pod.
+ *
+ * The watch is label selected server side, receives bookmarks, and resumes from the last
+ * seen resource version when it times out or disconnects. It only lists the pods again when
+ * that version has expired.
+ */
+public final class SharedPodWatcher {
+    private static final Logger LOGGER = Logger.getLogger(SharedPodWatcher.class.getName());
+    private static final Type POD_WATCH_TYPE = new TypeToken<Watch.Response<V1Pod>>() {
+    }.getType();
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 100;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 5000;
+    private static final Map<WatcherKey, SharedPodWatcher> WATCHERS = new ConcurrentHashMap<>();
+    private static final int WATCH_TIMEOUT_SECONDS = 300;
+    private static final int HTTP_GONE = 410;
+    private static final String BOOKMARK = "BOOKMARK";
+    private static final String ERROR = "ERROR";
+
+    private final ApiClient apiClient;
+    private final CoreV1Api coreV1Api;
+    private final String namespace;
+    private final Map<String, List<Consumer<Watch.Response<V1Pod>>>> listeners = new ConcurrentHashMap<>();
+    private volatile Thread watchThread;
+
+    private SharedPodWatcher(ApiClient apiClient, String namespace) {
+        this.apiClient = apiClient;
+        this.coreV1Api = new CoreV1Api(apiClient);
+        this.namespace = namespace;
+    }
+
+    public static SharedPodWatcher of(ApiClient apiClient, String namespace) {
+        return WATCHERS.computeIfAbsent(new WatcherKey(apiClient, namespace), key -> new SharedPodWatcher(apiClient, namespace));
+    }
+
+    /**
+     * Starts receiving the events of a pod. Subscribe before creating the pod so that no event is missed.
+     *
+     * @param podName name of the pod to follow
+     * @return the events of the pod, to be closed once the caller is done waiting
+     */
+    public PodEventStream subscribe(String podName) {
+        PodEventStream stream = new PodEventStream(podName);
+        stream.setSubscription(addListener(podName, stream::publish));
+        return stream;
+    }
+
+    /**
+     * Calls the listener with every event of a pod, from the watch thread.
+     *
+     * @param podName name of the pod to follow
+     * @param listener called for each event, it must not block
+     * @return the registration, to be closed when the events are no longer needed
+     */
+    public PodWatchSubscription addListener(String podName, Consumer<Watch.Response<V1Pod>> listener) {
+        listeners.computeIfAbsent(podName, name -> new CopyOnWriteArrayList<>()).add(listener);
+        ensureStarted();
+        return () -> listeners.computeIfPresent(podName, (name, podListeners) -> {
+            podListeners.remove(listener);
+            return podListeners.isEmpty() ? null : podListeners;
+        });
+    }
+
+    private void ensureStarted() {
+        if (watchThread == null) {
+            synchronized (this) {
+                if (watchThread == null) {
+                    Thread thread = new Thread(this::watchLoop, "junit5-kubernetes-pod-watcher-" + namespace);
+                    thread.setDaemon(true);
+                    thread.start();
+                    watchThread = thread;
+                }
+            }
+        }
+    }
+
+    private void watchLoop() {
+        long reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+        String resourceVersion = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (resourceVersion == null) {
+                    resourceVersion = relist();
+                }
+                try (Watch<V1Pod> watch = Watch.createWatch(
+                        apiClient,
+                        coreV1Api.listNamespacedPodCall(
+                                namespace, null, true, null, null, Pod.JUNIT_5_KUBERNETES_LABEL,
+                                null, resourceVersion, WATCH_TIMEOUT_SECONDS, true,
+                                null),
+                        POD_WATCH_TYPE)) {
+                    for (Watch.Response<V1Pod> event : watch) {
+                        if (isResourceVersionExpired(event)) {
+                            resourceVersion = null;
+                            break;
+                        }
+                        if (event.object != null && event.object.getMetadata() != null && event.object.getMetadata().getResourceVersion() != null) {
+                            resourceVersion = event.object.getMetadata().getResourceVersion();
+                        }
+                        if (!BOOKMARK.equals(event.type)) {
+                            dispatch(event);
+                        }
+                    }
+                }
+                // The server ended the watch (timeout), resume right away from the last seen version
+                reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+                continue;
+            } catch (ApiException e) {
+                if (e.getCode() == HTTP_GONE) {
+                    resourceVersion = null;
+                } else {
+                    LOGGER.log(Level.WARNING, "Pod watch on namespace " + namespace + " failed with " + e.getCode() + " status code and body " + e.getResponseBody(), e);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Pod watch on namespace " + namespace + " disconnected, resuming from version " + resourceVersion, e);
+            }
+
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * Lists the labelled pods to get a consistent starting version, and replays their
+     * current state to subscribers so that pods created before the watch started are not missed.
+     */
+    private String relist() throws ApiException {
+        V1PodList pods = coreV1Api.listNamespacedPod(namespace, null, null, null, null, Pod.JUNIT_5_KUBERNETES_LABEL, null, null, null, false);
+        for (V1Pod pod : pods.getItems()) {
+            if (pod.getMetadata() != null && listeners.containsKey(pod.getMetadata().getName())) {
+                String json = "{\"type\":\"ADDED\",\"object\":" + apiClient.getJSON().serialize(pod) + "}";
+                dispatch(apiClient.getJSON().deserialize(json, POD_WATCH_TYPE));
+            }
+        }
+        return pods.getMetadata() != null ? pods.getMetadata().getResourceVersion() : null;
+    }
+
+    private static boolean isResourceVersionExpired(Watch.Response<V1Pod> event) {
+        return ERROR.equals(event.type)
+                && event.status != null
+                && event.status.getCode() != null
+                && event.status.getCode() == HTTP_GONE;
+    }
+
+    private void dispatch(Watch.Response<V1Pod> event) {
+        if (event.object == null || event.object.getMetadata() == null) {
+            return;
+        }
+        List<Consumer<Watch.Response<V1Pod>>> podListeners = listeners.get(event.object.getMetadata().getName());
+        if (podListeners != null) {
+            for (Consumer<Watch.Response<V1Pod>> listener : podListeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Pod watch listener failed", e);
+                }
+            }
+        }
+    }
+
+    private static final class WatcherKey {
+        private final ApiClient apiClient;
+        private final String namespace;
+
+        private WatcherKey(ApiClient apiClient, String namespace) {
+            this.apiClient = apiClient;
+            this.namespace = namespace;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            WatcherKey that = (WatcherKey) o;
+            return apiClient == that.apiClient &&
+                    Objects.equals(namespace, that.namespace);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(apiClient), namespace);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod.PodWaitRunningStatusStrategy;
+import io.kubernetes.client.openapi.models.V1PodBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestAsyncLifecycle {
+
+    @Test
+    void should_create_and_remove_pod_asynchronously() throws IOException {
+        PortMapper portMapper = new PortMapper();
+        List<String> hooks = new ArrayList<>();
+        Pod pod = new Pod(new V1PodBuilder()
+                .withNewSpec()
+                .addNewContainer()
+                .withName("testnginx")
+                .withImage("nginx")
+                .addNewPort()
+                .withHostPort(portMapper.computeAvailablePort("nginx-80"))
+                .withContainerPort(80)
+                .endPort()
+                .endContainer()
+                .endSpec()
+                .build()) {
+            @Override
+            protected void onBeforeCreateKubernetesObject() {
+                hooks.add("beforeCreate");
+            }
+
+            @Override
+            protected void onKubernetesObjectReady() {
+                hooks.add("ready");
+            }
+        }.withWaitStrategy(new PodWaitRunningStatusStrategy());
+
+        CompletableFuture<Pod> creation = pod.createAsync();
+        // Other fixture work can run here while the pod starts
+        Pod createdPod = creation.join();
+
+        assertThat(createdPod).isSameAs(pod);
+        assertThat(hooks).containsExactly("beforeCreate", "ready");
+        assertThat(pod.getObjectHostIp()).isNotBlank();
+        URL url = new URL("http://" + pod.getObjectHostIp() + ":" + pod.getExposedPort(80, portMapper.getComputedPort("nginx-80")));
+        assertThat(TestUtils.responseStatus(url)).isEqualTo(200);
+
+        pod.removeAsync().join();
+    }
+}
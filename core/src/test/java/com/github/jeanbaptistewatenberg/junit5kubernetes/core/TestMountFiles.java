@@ -0,0 +1,79 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod.PodWaitRunningStatusStrategy;
+import io.kubernetes.client.openapi.models.V1PodBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMountFiles {
+
+    @Test
+    void should_mount_small_and_chunked_files_before_start(@TempDir Path tempDir) throws IOException {
+        Path smallFile = Files.write(tempDir.resolve("small.conf"), "key=value\n".getBytes(StandardCharsets.UTF_8));
+        byte[] largeContent = new byte[2 * 1024 * 1024 + 17];
+        Arrays.fill(largeContent, (byte) 'x');
+        Path largeFile = Files.write(tempDir.resolve("large.bin"), largeContent);
+
+        try (Pod pod = new Pod(new V1PodBuilder()
+                .withNewSpec()
+                .addNewContainer()
+                .withName("testbusybox")
+                .withImage("busybox")
+                .withCommand("sh", "-c", "cat /config/small.conf && sleep 3600")
+                .endContainer()
+                .endSpec()
+                .build())
+                .withMountedFile("testbusybox", smallFile, Paths.get("/config/small.conf"))
+                .withMountedFile("testbusybox", largeFile, Paths.get("/data/large.bin"))
+                .withWaitStrategy(new PodWaitRunningStatusStrategy())) {
+            pod.create();
+
+            // Mounted before the container started, so its first command could read it
+            assertThat(pod.getLogs("testbusybox")).contains("key=value");
+            try (Pod.ExecResult execResult = pod.execInPod("wc", "-c", "/data/large.bin")) {
+                assertThat(execResult.consumeStandardOutAsString(StandardCharsets.UTF_8)).contains(Integer.toString(largeContent.length));
+            }
+        }
+    }
+
+    @Test
+    void should_copy_files_and_directories_in_one_stream(@TempDir Path tempDir) throws IOException {
+        Path directory = Files.createDirectories(tempDir.resolve("conf.d/nested"));
+        Files.write(directory.resolve("nested.conf"), "nested=true\n".getBytes(StandardCharsets.UTF_8));
+        Path file = Files.write(tempDir.resolve("single.conf"), "single=true\n".getBytes(StandardCharsets.UTF_8));
+
+        try (Pod pod = new Pod(new V1PodBuilder()
+                .withNewSpec()
+                .addNewContainer()
+                .withName("testbusybox")
+                .withImage("busybox")
+                .withCommand("sh", "-c", "sleep 3600")
+                .endContainer()
+                .endSpec()
+                .build())
+                .withCompressedCopies(true)
+                .withWaitStrategy(new PodWaitRunningStatusStrategy())) {
+            pod.create();
+
+            Map<Path, Path> files = new LinkedHashMap<>();
+            files.put(tempDir.resolve("conf.d"), Paths.get("/etc/app/conf.d"));
+            files.put(file, Paths.get("/etc/app/single.conf"));
+            pod.copyFilesToPodContainer("testbusybox", files);
+
+            try (Pod.ExecResult execResult = pod.execInPod("cat", "/etc/app/conf.d/nested/nested.conf", "/etc/app/single.conf")) {
+                assertThat(execResult.consumeStandardOutAsString(StandardCharsets.UTF_8)).contains("nested=true", "single=true");
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1DeleteOptions;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.openapi.models.V1Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestNamespacePool {
+
+    @Test
+    void should_expire_claims_not_renewed_within_the_lease() {
+        long now = System.currentTimeMillis();
+
+        assertThat(NamespacePool.isLeaseExpired(claimedAt(now))).isFalse();
+        assertThat(NamespacePool.isLeaseExpired(claimedAt(now - NamespacePool.LEASE_DURATION.toMillis() - 1000))).isTrue();
+    }
+
+    @Test
+    void should_never_expire_claims_without_lease() {
+        V1Namespace namespace = new V1Namespace().metadata(new V1ObjectMeta()
+                .putAnnotationsItem(NamespacePool.CLAIMED_BY_ANNOTATION, "another-jvm"));
+
+        assertThat(NamespacePool.isLeaseExpired(namespace)).isFalse();
+    }
+
+    @Test
+    void should_keep_a_prepared_namespace_and_release_its_claim() {
+        FakeNamespaceApi coreV1Api = new FakeNamespaceApi(claimedBy("this-jvm"));
+
+        NamespacePool.release(coreV1Api, "pool-1", "this-jvm", false);
+
+        assertThat(coreV1Api.calls).containsExactly("readNamespace", "deleteCollectionNamespacedPod", "listNamespacedService", "replaceNamespace");
+        assertThat(coreV1Api.namespace.getMetadata().getAnnotations())
+                .doesNotContainKeys(NamespacePool.CLAIMED_BY_ANNOTATION, NamespacePool.CLAIM_RENEWED_ANNOTATION)
+                .containsEntry("prepared", "true");
+    }
+
+    @Test
+    void should_leave_the_claim_of_another_jvm() {
+        FakeNamespaceApi coreV1Api = new FakeNamespaceApi(claimedBy("another-jvm"));
+
+        NamespacePool.release(coreV1Api, "pool-1", "this-jvm", false);
+
+        assertThat(coreV1Api.calls).containsExactly("readNamespace");
+        assertThat(coreV1Api.namespace.getMetadata().getAnnotations()).containsEntry(NamespacePool.CLAIMED_BY_ANNOTATION, "another-jvm");
+    }
+
+    @Test
+    void should_delete_a_created_namespace() {
+        FakeNamespaceApi coreV1Api = new FakeNamespaceApi(claimedBy("this-jvm"));
+
+        NamespacePool.release(coreV1Api, "pool-1", "this-jvm", true);
+
+        assertThat(coreV1Api.calls).containsExactly("deleteNamespace");
+    }
+
+    private static V1Namespace claimedBy(String claimant) {
+        return new V1Namespace().metadata(new V1ObjectMeta()
+                .name("pool-1")
+                .putAnnotationsItem("prepared", "true")
+                .putAnnotationsItem(NamespacePool.CLAIMED_BY_ANNOTATION, claimant)
+                .putAnnotationsItem(NamespacePool.CLAIM_RENEWED_ANNOTATION, Long.toString(System.currentTimeMillis())));
+    }
+
+    private static V1Namespace claimedAt(long renewed) {
+        return new V1Namespace().metadata(new V1ObjectMeta()
+                .putAnnotationsItem(NamespacePool.CLAIMED_BY_ANNOTATION, "another-jvm")
+                .putAnnotationsItem(NamespacePool.CLAIM_RENEWED_ANNOTATION, Long.toString(renewed)));
+    }
+
+    private static final class FakeNamespaceApi extends CoreV1Api {
+        private final List<String> calls = new ArrayList<>();
+        private V1Namespace namespace;
+
+        private FakeNamespaceApi(V1Namespace namespace) {
+            super(new ApiClient());
+            this.namespace = namespace;
+        }
+
+        @Override
+        public V1Status deleteCollectionNamespacedPod(String namespace, String pretty, String _continue, String dryRun, String fieldSelector, Integer gracePeriodSeconds, String labelSelector, Integer limit, Boolean orphanDependents, String propagationPolicy, String resourceVersion, Integer timeoutSeconds, V1DeleteOptions body) {
+            calls.add("deleteCollectionNamespacedPod");
+            return new V1Status();
+        }
+
+        @Override
+        public V1ServiceList listNamespacedService(String namespace, String pretty, Boolean allowWatchBookmarks, String _continue, String fieldSelector, String labelSelector, Integer limit, String resourceVersion, Integer timeoutSeconds, Boolean watch) {
+            calls.add("listNamespacedService");
+            return new V1ServiceList().items(new ArrayList<>());
+        }
+
+        @Override
+        public V1Namespace readNamespace(String name, String pretty, Boolean exact, Boolean export) {
+            calls.add("readNamespace");
+            return namespace;
+        }
+
+        @Override
+        public V1Namespace replaceNamespace(String name, V1Namespace body, String pretty, String dryRun, String fieldManager) {
+            calls.add("replaceNamespace");
+            namespace = body;
+            return body;
+        }
+
+        @Override
+        public V1Status deleteNamespace(String name, String pretty, String dryRun, Integer gracePeriodSeconds, Boolean orphanDependents, String propagationPolicy, V1DeleteOptions body) {
+            calls.add("deleteNamespace");
+            return new V1Status();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.impl.GenericPodBuilder;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod.PodWaitRunningStatusStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JunitKubernetes
+@Execution(ExecutionMode.CONCURRENT)
+public class TestParallelExecution {
+
+    private static final PortMapper portMapper = new PortMapper();
+    private static final Set<String> podNames = ConcurrentHashMap.newKeySet();
+    private static final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    @KubernetesObject
+    private static KubernetesGenericObject pod = new GenericPodBuilder()
+            .withNewSpec()
+            .addNewContainer()
+            .withName("testnginx")
+            .withImage("nginx")
+            .addNewPort()
+            .withHostPort(portMapper.computeAvailablePort("nginx-80"))
+            .withContainerPort(80)
+            .endPort()
+            .endContainer()
+            .endSpec()
+            .withWaitStrategy(new PodWaitRunningStatusStrategy())
+            .build();
+
+    @RepeatedTest(8)
+    void should_see_the_shared_pod_from_any_thread() throws IOException {
+        threadNames.add(Thread.currentThread().getName());
+        podNames.add(pod.getObjectName());
+
+        URL url = new URL("http://" + pod.getObjectHostIp() + ":" + portMapper.getComputedPort("nginx-80"));
+        assertThat(TestUtils.responseStatus(url)).isEqualTo(200);
+    }
+
+    @AfterAll
+    static void check_a_single_pod_was_used_by_several_threads() {
+        assertThat(podNames).hasSize(1);
+        assertThat(threadNames.size()).isGreaterThan(1);
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Execution(ExecutionMode.CONCURRENT)
+    class PerClassInstance {
+        private final PortMapper instancePortMapper = new PortMapper();
+
+        @KubernetesObject
+        private KubernetesGenericObject instancePod = new GenericPodBuilder()
+                .withNewSpec()
+                .addNewContainer()
+                .withName("testnginx")
+                .withImage("nginx")
+                .addNewPort()
+                .withHostPort(instancePortMapper.computeAvailablePort("nginx-80"))
+                .withContainerPort(80)
+                .endPort()
+                .endContainer()
+                .endSpec()
+                .withWaitStrategy(new PodWaitRunningStatusStrategy())
+                .build();
+
+        // Concurrent methods share the instance, its pod is created once and removed after the last of them
+        @RepeatedTest(4)
+        void should_see_the_instance_pod_from_concurrent_methods() throws IOException {
+            assertThat(instancePod.getObjectName()).startsWith(Pod.JUNIT_5_KUBERNETES_POD_PREFIX);
+
+            URL url = new URL("http://" + instancePod.getObjectHostIp() + ":" + instancePortMapper.getComputedPort("nginx-80"));
+            assertThat(TestUtils.responseStatus(url)).isEqualTo(200);
+        }
+    }
+}
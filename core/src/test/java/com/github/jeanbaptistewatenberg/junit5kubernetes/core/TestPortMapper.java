@@ -0,0 +1,93 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPortMapper {
+
+    @Test
+    void should_never_hand_out_the_same_port_to_concurrent_callers() throws Exception {
+        int threads = 32;
+        int portsPerThread = 20;
+        Set<Integer> ports = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                PortMapper portMapper = new PortMapper();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < portsPerThread; i++) {
+                        int port = portMapper.computeAvailablePort("port-" + i);
+                        ports.add(port);
+                        // Released as when the pod is submitted, the port must still not be handed out again
+                        PortMapper.releaseReservedPorts(Collections.singletonList(port));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ports).hasSize(threads * portsPerThread);
+    }
+
+    @Test
+    void should_share_computed_ports_across_threads() throws Exception {
+        PortMapper portMapper = new PortMapper();
+        int port = Executors.newSingleThreadExecutor().submit(() -> portMapper.computeAvailablePort("http")).get();
+
+        assertThat(portMapper.hasComputedPort("http")).isTrue();
+        assertThat(portMapper.getComputedPort("http")).isEqualTo(port);
+    }
+
+    @Test
+    void should_free_the_port_once_released() throws IOException {
+        PortMapper portMapper = new PortMapper();
+        int port = portMapper.computeAvailablePort("http");
+
+        PortMapper.releaseReservedPorts(Collections.singletonList(port));
+
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            assertThat(serverSocket.getLocalPort()).isEqualTo(port);
+        }
+    }
+
+    @Test
+    void should_unlock_the_port_once_freed() throws IOException {
+        int port = new PortMapper().computeAvailablePort("http");
+
+        PortMapper.freeReservedPorts(Collections.singletonList(port));
+
+        // Would throw an OverlappingFileLockException if this JVM still held the lock
+        Path lockFile = Paths.get(System.getProperty("java.io.tmpdir"), "junit5-kubernetes-ports", port + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            assertThat(lock).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestApiCallMetrics {
+
+    @Test
+    void should_keep_every_value_within_its_bucket() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertThat(LatencyHistogram.highestValueOf(bucket)).isGreaterThanOrEqualTo(value);
+            assertThat(bucket == 0 || LatencyHistogram.highestValueOf(bucket - 1) < value).isTrue();
+        }
+    }
+
+    @Test
+    void should_compute_percentiles_within_bucket_precision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getPercentile(50).toMillis()).isBetween(50L, 57L);
+        assertThat(histogram.getPercentile(95).toMillis()).isBetween(95L, 100L);
+        assertThat(histogram.getPercentile(100)).isEqualTo(Duration.ofMillis(100));
+        assertThat(histogram.getMax()).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void should_name_calls_after_kubernetes_verbs_and_resources() {
+        assertCall("GET", false, "get pods", "api", "v1", "namespaces", "default", "pods", "junit5kubernetes-1");
+        assertCall("GET", true, "watch pods", "api", "v1", "namespaces", "default", "pods");
+        assertCall("GET", false, "get pods/log", "api", "v1", "namespaces", "default", "pods", "junit5kubernetes-1", "log");
+        assertCall("GET", false, "connect pods/exec", "api", "v1", "namespaces", "default", "pods", "junit5kubernetes-1", "exec");
+        assertCall("DELETE", false, "deletecollection pods", "api", "v1", "namespaces", "default", "pods");
+        assertCall("POST", false, "create deployments", "apis", "apps", "v1", "namespaces", "default", "deployments");
+        assertCall("PUT", false, "update namespaces", "api", "v1", "namespaces", "junit5kubernetes-pool-1");
+        assertCall("GET", false, "list namespaces", "api", "v1", "namespaces");
+    }
+
+    private static void assertCall(String method, boolean watch, String expected, String... segments) {
+        List<String> path = ApiCallMetricsInterceptor.resourcePath(Arrays.asList(segments));
+        String call = ApiCallMetricsInterceptor.verbOf(method, path, watch) + " " + ApiCallMetricsInterceptor.resourceOf(path);
+        assertThat(call).isEqualTo(expected);
+    }
+}
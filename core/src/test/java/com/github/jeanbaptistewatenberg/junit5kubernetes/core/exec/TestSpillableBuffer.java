@@ -0,0 +1,47 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.exec;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSpillableBuffer {
+
+    @Test
+    void should_keep_small_output_in_memory() throws IOException {
+        SpillableBuffer buffer = new SpillableBuffer("junit5-kubernetes-test", 16);
+
+        StreamPump.pump(new ByteArrayInputStream("hello".getBytes()), buffer).join();
+
+        assertThat(buffer.isSpilled()).isFalse();
+        assertThat(read(buffer)).isEqualTo("hello".getBytes());
+    }
+
+    @Test
+    void should_spill_large_output_and_delete_it_on_close() throws IOException {
+        byte[] output = new byte[100_000];
+        Arrays.fill(output, (byte) 'x');
+        SpillableBuffer buffer = new SpillableBuffer("junit5-kubernetes-test", 1024);
+
+        StreamPump.pump(new ByteArrayInputStream(output), buffer).join();
+
+        assertThat(buffer.isSpilled()).isTrue();
+        assertThat(read(buffer)).isEqualTo(output);
+        assertThat(read(buffer)).isEqualTo(output);
+
+        buffer.delete();
+        assertThatThrownBy(buffer::getInputStream).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] read(SpillableBuffer buffer) throws IOException {
+        try (InputStream in = buffer.getInputStream()) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestKubernetesStreamOpener {
+
+    @Test
+    void should_end_the_stream_when_no_error_was_reported() throws IOException {
+        PortStream stream = KubernetesStreamOpener.portStream(5432, "test-pod", stream("pong"), new ByteArrayOutputStream(), stream(""));
+
+        assertThat(readAll(stream.getInputStream())).isEqualTo("pong");
+    }
+
+    @Test
+    void should_fail_with_the_error_reported_by_the_kubelet() {
+        String error = "error forwarding port 5432 to pod test-pod: connection refused\n";
+        PortStream stream = KubernetesStreamOpener.portStream(5432, "test-pod", stream(""), new ByteArrayOutputStream(), stream(error));
+
+        assertThatThrownBy(() -> readAll(stream.getInputStream()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Port 5432 of pod test-pod")
+                .hasMessageContaining("connection refused");
+    }
+
+    @Test
+    void should_close_every_channel() throws IOException {
+        AtomicBoolean dataClosed = new AtomicBoolean();
+        AtomicBoolean outboundClosed = new AtomicBoolean();
+        AtomicBoolean errorsClosed = new AtomicBoolean();
+        PortStream stream = KubernetesStreamOpener.portStream(5432, "test-pod",
+                new ByteArrayInputStream(new byte[0]) {
+                    @Override
+                    public void close() {
+                        dataClosed.set(true);
+                    }
+                },
+                new ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        outboundClosed.set(true);
+                    }
+                },
+                new ByteArrayInputStream(new byte[0]) {
+                    @Override
+                    public void close() {
+                        errorsClosed.set(true);
+                    }
+                });
+
+        stream.close();
+
+        assertThat(dataClosed.get()).isTrue();
+        assertThat(outboundClosed.get()).isTrue();
+        assertThat(errorsClosed.get()).isTrue();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            content.write(buffer, 0, read);
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
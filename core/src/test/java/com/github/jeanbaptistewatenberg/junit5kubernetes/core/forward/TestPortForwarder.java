@@ -0,0 +1,133 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.forward;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPortForwarder {
+    private ServerSocket echoServer;
+    private final AtomicInteger openedStreams = new AtomicInteger();
+
+    // Stands for the pod: echoes every line back
+    @BeforeEach
+    void startEchoServer() throws IOException {
+        echoServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(() -> {
+            while (!echoServer.isClosed()) {
+                try {
+                    Socket socket = echoServer.accept();
+                    new Thread(() -> echo(socket)).start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    void stopEchoServer() throws IOException {
+        echoServer.close();
+    }
+
+    @Test
+    void should_forward_connections_to_the_pod_port() throws IOException {
+        try (PortForwarder forwarder = new PortForwarder(this::openToEchoServer)) {
+            int localPort = forwarder.forward(80);
+
+            for (int i = 0; i < 3; i++) {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), localPort)) {
+                    PrintWriter writer = new PrintWriter(socket.getOutputStream(), true);
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    writer.println("hello " + i);
+                    assertThat(reader.readLine()).isEqualTo("hello " + i);
+                }
+            }
+
+            assertThat(forwarder.getLocalPorts()).containsEntry(80, localPort);
+            // One stream per accepted connection, none opened in advance
+            assertThat(openedStreams.get()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void should_keep_receiving_once_the_client_shut_down_its_output() throws IOException {
+        try (PortForwarder forwarder = new PortForwarder(this::openToEchoServer)) {
+            int localPort = forwarder.forward(80);
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), localPort)) {
+                socket.getOutputStream().write("request".getBytes(StandardCharsets.UTF_8));
+                socket.shutdownOutput();
+
+                assertThat(readAll(socket.getInputStream())).isEqualTo("request");
+            }
+        }
+    }
+
+    @Test
+    void should_not_open_streams_before_a_connection_is_accepted() {
+        try (PortForwarder forwarder = new PortForwarder(this::openToEchoServer)) {
+            forwarder.forward(80);
+
+            assertThat(openedStreams.get()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void should_listen_once_per_pod_port() {
+        try (PortForwarder forwarder = new PortForwarder(this::openToEchoServer)) {
+            assertThat(forwarder.forward(80)).isEqualTo(forwarder.forward(80));
+            assertThat(forwarder.forward(80)).isNotEqualTo(forwarder.forward(443));
+        }
+    }
+
+    private PortStream openToEchoServer(int podPort) throws IOException {
+        openedStreams.incrementAndGet();
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), echoServer.getLocalPort());
+        // Like the port-forward channels, closing the output does not close the input
+        return new PortStream(socket.getInputStream(), new FilterOutputStream(socket.getOutputStream()) {
+            @Override
+            public void close() throws IOException {
+                socket.shutdownOutput();
+            }
+        }, socket);
+    }
+
+    private static String readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            content.write(buffer, 0, read);
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void echo(Socket socket) {
+        try (Socket s = socket) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = s.getInputStream().read(buffer)) != -1) {
+                s.getOutputStream().write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            // Connection closed by the forwarder
+        }
+    }
+}
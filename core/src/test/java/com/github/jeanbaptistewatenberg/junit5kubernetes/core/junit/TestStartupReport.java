@@ -0,0 +1,57 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.junit;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecyclePhase;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle.LifecycleRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestStartupReport {
+
+    @Test
+    void should_compute_nearest_rank_percentiles() {
+        StartupReport.Samples samples = new StartupReport.Samples();
+        for (int millis = 1; millis <= 20; millis++) {
+            samples.add(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertThat(samples.percentileMillis(50)).isEqualTo(10);
+        assertThat(samples.percentileMillis(95)).isEqualTo(19);
+        assertThat(samples.percentileMillis(100)).isEqualTo(20);
+    }
+
+    @Test
+    void should_write_json_and_text_reports(@TempDir Path directory) throws IOException {
+        StartupReport report = new StartupReport(directory);
+        report.recordStartup("com.example.TestDatabase", TimeUnit.SECONDS.toNanos(3));
+        report.recordTeardown("com.example.TestDatabase", TimeUnit.SECONDS.toNanos(1), false);
+        report.recordTestClass("com.example.TestDatabase", TimeUnit.SECONDS.toNanos(5));
+        LifecycleRecorder recorder = new LifecycleRecorder("PostgreSQLPod");
+        recorder.record(LifecyclePhase.WAIT_STRATEGY, Duration.ofSeconds(2));
+        report.objectCreated(recorder.toTimings("junit5kubernetes-1", Collections.singletonList("postgres:12")));
+        report.objectRemoved("PostgreSQLPod", "junit5kubernetes-1", Duration.ofMillis(800));
+
+        report.close();
+
+        String json = new String(Files.readAllBytes(directory.resolve("startup-report.json")), StandardCharsets.UTF_8);
+        assertThat(json)
+                .contains("\"testClass\": \"com.example.TestDatabase\"")
+                .contains("\"waitingMs\": 4000")
+                .contains("\"executingMs\": 2000")
+                .contains("\"objectType\": \"PostgreSQLPod\"")
+                .contains("\"WAIT_STRATEGY\"");
+        String text = new String(Files.readAllBytes(directory.resolve("startup-report.txt")), StandardCharsets.UTF_8);
+        assertThat(text)
+                .contains("PostgreSQLPod [postgres:12]")
+                .contains("removed   1 x p50=800ms");
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestLifecycleListeners {
+
+    @Test
+    void should_publish_phases_in_order_to_every_listener() {
+        List<LifecycleTimings> received = new ArrayList<>();
+        LifecycleListener failing = timings -> {
+            throw new IllegalStateException("listener failure");
+        };
+        LifecycleListener collecting = received::add;
+        LifecycleListeners.register(failing);
+        LifecycleListeners.register(collecting);
+        try {
+            assertThat(LifecycleListeners.hasListeners()).isTrue();
+            LifecycleRecorder recorder = new LifecycleRecorder("Pod");
+            recorder.record(LifecyclePhase.WAIT_STRATEGY, Duration.ofMillis(20));
+            recorder.recordSince(LifecyclePhase.PREPARE_SPEC, System.nanoTime());
+            recorder.record(LifecyclePhase.WAIT_STRATEGY, Duration.ofMillis(5));
+
+            LifecycleListeners.publishCreated(recorder.toTimings("junit5kubernetes-test", Collections.singletonList("nginx")));
+
+            assertThat(received).hasSize(1);
+            LifecycleTimings timings = received.get(0);
+            assertThat(timings.getObjectName()).isEqualTo("junit5kubernetes-test");
+            assertThat(timings.getImages()).containsExactly("nginx");
+            assertThat(timings.isReused()).isFalse();
+            assertThat(timings.getPhases()).containsOnlyKeys(LifecyclePhase.PREPARE_SPEC, LifecyclePhase.WAIT_STRATEGY);
+            assertThat(timings.getPhases().keySet()).containsExactly(LifecyclePhase.PREPARE_SPEC, LifecyclePhase.WAIT_STRATEGY);
+            assertThat(timings.getPhases().get(LifecyclePhase.WAIT_STRATEGY)).isEqualTo(Duration.ofMillis(25));
+        } finally {
+            LifecycleListeners.unregister(failing);
+            LifecycleListeners.unregister(collecting);
+        }
+    }
+
+    @Test
+    void should_add_cluster_phases_without_changing_the_total() {
+        LifecycleRecorder recorder = new LifecycleRecorder("Pod");
+        recorder.record(LifecyclePhase.API_CREATE, Duration.ofMillis(10));
+        LifecycleTimings timings = recorder.toTimings("junit5kubernetes-test", Collections.singletonList("nginx"));
+
+        LifecycleTimings withClusterPhases = timings.withPhases(Collections.singletonMap(LifecyclePhase.SCHEDULED, Duration.ofSeconds(1)));
+
+        assertThat(withClusterPhases.getTotal()).isEqualTo(timings.getTotal());
+        assertThat(withClusterPhases.getPhases()).containsEntry(LifecyclePhase.API_CREATE, Duration.ofMillis(10));
+        assertThat(withClusterPhases.getPhases()).containsEntry(LifecyclePhase.SCHEDULED, Duration.ofSeconds(1));
+        assertThat(timings.getPhases()).containsOnlyKeys(LifecyclePhase.API_CREATE);
+    }
+
+    @Test
+    void should_read_cluster_phases_only_when_a_listener_needs_them() {
+        LifecycleListener local = new LifecycleListener() {
+            @Override
+            public void objectCreated(LifecycleTimings timings) {
+            }
+
+            @Override
+            public boolean needsClusterPhases() {
+                return false;
+            }
+        };
+        LifecycleListener clusterAware = timings -> {
+        };
+        LifecycleListeners.register(local);
+        try {
+            assertThat(LifecycleListeners.hasListeners()).isTrue();
+            assertThat(LifecycleListeners.needsClusterPhases()).isFalse();
+
+            LifecycleListeners.register(clusterAware);
+            assertThat(LifecycleListeners.needsClusterPhases()).isTrue();
+        } finally {
+            LifecycleListeners.unregister(local);
+            LifecycleListeners.unregister(clusterAware);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait;
+
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.impl.pod.PodWaitRunningStatusStrategy;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodBuilder;
+import io.kubernetes.client.util.Watch;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestDeadline {
+
+    @Test
+    void should_close_resource_when_deadline_is_reached() throws InterruptedException {
+        CountDownLatch closed = new CountDownLatch(1);
+
+        Deadline.after(Duration.ofMillis(50)).closeOnExpiry((Closeable) closed::countDown);
+
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_not_close_resource_once_alarm_is_closed() throws InterruptedException {
+        CountDownLatch closed = new CountDownLatch(1);
+
+        Deadline.after(Duration.ofMillis(50)).closeOnExpiry((Closeable) closed::countDown).close();
+
+        assertThat(closed.await(200, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void should_fail_wait_strategy_on_time_when_no_event_arrives() {
+        V1Pod pod = new V1PodBuilder().withNewMetadata().withName("silent-pod").endMetadata().build();
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> new PodWaitRunningStatusStrategy(Duration.ofMillis(200)).apply(new SilentEvents(), pod))
+                .hasMessageContaining("silent-pod")
+                .hasMessageContaining("before timeout PT0.2S");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+    }
+
+    private static class SilentEvents implements Iterable<Watch.Response<V1Pod>>, Closeable {
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public Iterator<Watch.Response<V1Pod>> iterator() {
+            return new Iterator<Watch.Response<V1Pod>>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        closed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return false;
+                }
+
+                @Override
+                public Watch.Response<V1Pod> next() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestLogMatcher {
+
+    @Test
+    void should_reject_invalid_regex_unless_literal() {
+        assertThatThrownBy(() -> LogPattern.of("[unclosed"))
+                .isInstanceOf(PatternSyntaxException.class);
+        assertThat(LogPattern.literal("[unclosed").matches("an [unclosed bracket")).isTrue();
+        assertThat(LogPattern.literal("a.*b").matches("a and b")).isFalse();
+    }
+
+    @Test
+    void should_match_text_or_regex_like_string_matches() {
+        assertThat(LogPattern.of(".*database system is ready.*").matches("LOG:  database system is ready to accept connections")).isTrue();
+        assertThat(LogPattern.of("Server startup complete").matches("2020-01-01 Server startup complete; 3 plugins started.")).isTrue();
+        assertThat(LogPattern.of("^started \\d+$").matches("started 42")).isTrue();
+        assertThat(LogPattern.of(".*started.*").matches("starting")).isFalse();
+    }
+
+    @Test
+    void should_count_occurrences_before_being_satisfied() {
+        LogMatcher.Match match = LogMatcher.anyOf(LogPattern.of(".*ready.*", 2)).newMatch();
+
+        assertThat(match.accept("ready")).isFalse();
+        assertThat(match.accept("something else")).isFalse();
+        assertThat(match.accept("ready again")).isTrue();
+    }
+
+    @Test
+    void should_wait_for_all_patterns() {
+        LogMatcher.Match match = LogMatcher.allOf(LogPattern.of("a"), LogPattern.of("b")).newMatch();
+
+        assertThat(match.accept("b")).isFalse();
+        assertThat(match.describeMissing()).contains("(x1) a found 0 time(s)");
+        assertThat(match.accept("a")).isTrue();
+    }
+
+    @Test
+    void should_wait_for_patterns_in_order() {
+        LogMatcher.Match match = LogMatcher.inOrder(LogPattern.of("first"), LogPattern.of("second")).newMatch();
+
+        assertThat(match.accept("second")).isFalse();
+        assertThat(match.accept("first")).isFalse();
+        assertThat(match.accept("second")).isTrue();
+    }
+
+    @Test
+    void should_split_lines_across_buffer_boundaries() throws IOException {
+        String log = "first line\r\nsecond line is longer than the buffer\n\nlast line without terminator";
+        List<String> lines = new ArrayList<>();
+
+        boolean stopped = new LogLineSplitter(8, StandardCharsets.UTF_8)
+                .split(new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)), lines::add);
+
+        assertThat(stopped).isFalse();
+        assertThat(lines).containsExactly("first line", "second line is longer than the buffer", "", "last line without terminator");
+    }
+
+    @Test
+    void should_stop_reading_when_handler_returns_false() throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        boolean stopped = new LogLineSplitter()
+                .split(new ByteArrayInputStream("a\nb\nc\n".getBytes(StandardCharsets.UTF_8)), line -> lines.add(line) && !line.equals("b"));
+
+        assertThat(stopped).isTrue();
+        assertThat(lines).containsExactly("a", "b");
+    }
+}
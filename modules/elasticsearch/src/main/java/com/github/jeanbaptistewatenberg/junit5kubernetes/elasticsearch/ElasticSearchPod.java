@@ -60,11 +60,11 @@ public class ElasticSearchPod extends Pod {
     }
 
     public Integer getHttpPort() {
-        return portMapper.getComputedPort(NAMED_HTTP_PORT);
+        return getExposedPort(ELASTICSEARCH_DEFAULT_PORT, portMapper.getComputedPort(NAMED_HTTP_PORT));
     }
 
     public Integer getTcpPort() {
-        return portMapper.getComputedPort(NAMED_TCP_PORT);
+        return getExposedPort(ELASTICSEARCH_DEFAULT_TCP_PORT, portMapper.getComputedPort(NAMED_TCP_PORT));
     }
 
 
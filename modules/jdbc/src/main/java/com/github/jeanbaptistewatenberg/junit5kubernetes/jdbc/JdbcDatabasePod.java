@@ -2,6 +2,7 @@ package com.github.jeanbaptistewatenberg.junit5kubernetes.jdbc;
 
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.Pod;
 import com.github.jeanbaptistewatenberg.junit5kubernetes.core.impl.GenericPodBuilder;
+import com.github.jeanbaptistewatenberg.junit5kubernetes.core.wait.Deadline;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodBuilder;
 import org.testcontainers.delegate.DatabaseDelegate;
@@ -11,8 +12,8 @@ import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.SQLException;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public abstract class JdbcDatabasePod<SELF extends JdbcDatabasePod<SELF>> extends Pod {
@@ -108,23 +109,25 @@ public abstract class JdbcDatabasePod<SELF extends JdbcDatabasePod<SELF>> extend
         final Driver jdbcDriverInstance = getJdbcDriverInstance();
 
         SQLException lastException = null;
+        Deadline deadline = Deadline.after(connectTimeout);
+        int attempts = 0;
         try {
-            LocalDateTime start = LocalDateTime.now();
             // give up if we hit the time limit
-            while (LocalDateTime.now().isBefore(start.plus(connectTimeout))) {
+            while (!deadline.isExpired()) {
                 try {
                     LOGGER.fine(String.format("Trying to create JDBC connection using %s to %s with properties: %s", driver.getClass().getName(), url, info));
-
+                    attempts++;
                     return jdbcDriverInstance.connect(url, info);
                 } catch (SQLException e) {
                     lastException = e;
-                    Thread.sleep(100L);
+                    TimeUnit.NANOSECONDS.sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(100L), deadline.remainingNanos()));
                 }
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
-        throw new SQLException("Could not create new connection", lastException);
+        throw new SQLException("Could not create new connection to " + url + " after " + attempts + " attempt(s) in "
+                + deadline.elapsed().toMillis() + " ms (connect timeout " + connectTimeout + ")", lastException);
     }
 
     public Driver getJdbcDriverInstance() throws NoDriverFoundException {
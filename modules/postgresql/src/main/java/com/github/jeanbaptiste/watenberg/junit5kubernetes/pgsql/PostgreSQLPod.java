@@ -50,7 +50,7 @@ public class PostgreSQLPod<SELF extends PostgreSQLPod<SELF>> extends JdbcDatabas
     @Override
     public String getJdbcUrl() {
         // Disable Postgres driver use of java.util.logging to reduce noise at startup time
-        return String.format("jdbc:postgresql://%s:%d/%s?loggerLevel=OFF", getObjectHostIp(), hostPort != null ? hostPort : portMapper.getComputedPort(POSTGRESQL_NAMED_PORT), databaseName);
+        return String.format("jdbc:postgresql://%s:%d/%s?loggerLevel=OFF", getObjectHostIp(), getExposedPort(POSTGRESQL_PORT, hostPort != null ? hostPort : portMapper.getComputedPort(POSTGRESQL_NAMED_PORT)), databaseName);
     }
 
     @Override
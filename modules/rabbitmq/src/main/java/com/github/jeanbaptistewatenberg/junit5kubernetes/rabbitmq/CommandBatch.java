@@ -0,0 +1,117 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs several commands in a single {@code sh -c} exec instead of one exec per command.
+ *
+ * Every command runs even if a previous one failed; the output of failed commands is printed between
+ * markers on the standard output so that failures can still be reported per command.
+ */
+final class CommandBatch {
+    private static final String FAILURE_MARKER = "@@junit5-kubernetes-failed@@";
+    private static final String END_MARKER = "@@junit5-kubernetes-end@@";
+    private static final Pattern FAILURE_LINE = Pattern.compile(Pattern.quote(FAILURE_MARKER) + " (\\d+) (\\d+)");
+    private static final Pattern PASSWORD_ARGUMENT = Pattern.compile("(--password=|password=).*");
+    static final String MASK = "********";
+
+    private final List<List<String>> commands = new ArrayList<>();
+    private final List<String> rawLines = new ArrayList<>();
+
+    void add(List<String> command) {
+        commands.add(command);
+        rawLines.add(null);
+    }
+
+    /**
+     * Adds a shell snippet, run as is.
+     */
+    void addShell(String shellCommand, List<String> description) {
+        commands.add(description);
+        rawLines.add(shellCommand);
+    }
+
+    boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    List<List<String>> getCommands() {
+        return commands;
+    }
+
+    /**
+     * @return the commands with their passwords masked, to be logged
+     */
+    List<List<String>> getMaskedCommands() {
+        List<List<String>> maskedCommands = new ArrayList<>();
+        commands.forEach(command -> maskedCommands.add(masked(command)));
+        return maskedCommands;
+    }
+
+    String toScript() {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < commands.size(); i++) {
+            String line = rawLines.get(i) != null ? rawLines.get(i) : toShell(commands.get(i));
+            script.append("out=$( { ").append(line).append("; } 2>&1 ); code=$?; ")
+                    .append("if [ $code -ne 0 ]; then echo \"").append(FAILURE_MARKER).append(" ").append(i).append(" $code\"; ")
+                    .append("echo \"$out\"; echo \"").append(END_MARKER).append("\"; fi\n");
+        }
+        return script.toString();
+    }
+
+    /**
+     * @param standardOut the standard output of the script
+     * @return the output of each failed command, by index of the command
+     */
+    static Map<Integer, String> failures(String standardOut) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        Integer current = null;
+        StringBuilder output = new StringBuilder();
+        for (String line : standardOut.split("\n", -1)) {
+            Matcher failure = FAILURE_LINE.matcher(line);
+            if (current == null && failure.matches()) {
+                current = Integer.parseInt(failure.group(1));
+                output.setLength(0);
+                output.append("exit code ").append(failure.group(2)).append(": ");
+            } else if (current != null && line.equals(END_MARKER)) {
+                failures.put(current, output.toString().trim());
+                current = null;
+            } else if (current != null) {
+                output.append(line).append('\n');
+            }
+        }
+        return failures;
+    }
+
+    static String toShell(List<String> command) {
+        StringBuilder shell = new StringBuilder();
+        for (String argument : command) {
+            if (shell.length() > 0) {
+                shell.append(' ');
+            }
+            shell.append(quote(argument));
+        }
+        return shell.toString();
+    }
+
+    /**
+     * @return the command with its passwords masked (eg. {@code --password=} of rabbitmqadmin), to be logged
+     */
+    static List<String> masked(List<String> command) {
+        List<String> maskedCommand = new ArrayList<>();
+        for (String argument : command) {
+            Matcher password = PASSWORD_ARGUMENT.matcher(argument);
+            maskedCommand.add(password.matches() ? password.group(1) + MASK : argument);
+        }
+        return maskedCommand;
+    }
+
+    static String quote(String argument) {
+        return "'" + argument.replace("'", "'\\''") + "'";
+    }
+}
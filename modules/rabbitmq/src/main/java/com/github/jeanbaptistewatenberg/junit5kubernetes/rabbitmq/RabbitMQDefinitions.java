@@ -0,0 +1,100 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarations of a {@link RabbitMQPod} compiled into a single definitions document
+ * (https://www.rabbitmq.com/definitions.html), imported in one call once the broker is started.
+ *
+ * Each declaration also keeps its equivalent {@code rabbitmqadmin declare} command, used to find out which
+ * declarations are wrong when the import fails.
+ */
+final class RabbitMQDefinitions {
+    static final String DEFAULT_VHOST = "/";
+    private static final String PASSWORD = "password";
+
+    private final Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+    private final List<Declaration> declarations = new ArrayList<>();
+
+    void add(String section, Map<String, Object> definition, List<String> command) {
+        sections.computeIfAbsent(section, s -> new ArrayList<>()).add(definition);
+        declarations.add(new Declaration(section, definition, command));
+    }
+
+    boolean isEmpty() {
+        return declarations.isEmpty();
+    }
+
+    List<Declaration> getDeclarations() {
+        return declarations;
+    }
+
+    String toJson(ObjectMapper objectMapper) {
+        return toJson(objectMapper, sections);
+    }
+
+    /**
+     * @return the document with the passwords of its users masked, to be logged
+     */
+    String toMaskedJson(ObjectMapper objectMapper) {
+        Map<String, List<Map<String, Object>>> maskedSections = new LinkedHashMap<>();
+        sections.forEach((section, definitions) -> {
+            List<Map<String, Object>> maskedDefinitions = new ArrayList<>();
+            definitions.forEach(definition -> maskedDefinitions.add(masked(definition)));
+            maskedSections.put(section, maskedDefinitions);
+        });
+        return toJson(objectMapper, maskedSections);
+    }
+
+    private static String toJson(ObjectMapper objectMapper, Map<String, List<Map<String, Object>>> sections) {
+        try {
+            return objectMapper.writeValueAsString(sections);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to convert definitions into json: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> masked(Map<String, Object> definition) {
+        if (!definition.containsKey(PASSWORD)) {
+            return definition;
+        }
+        Map<String, Object> maskedDefinition = new LinkedHashMap<>(definition);
+        maskedDefinition.put(PASSWORD, CommandBatch.MASK);
+        return maskedDefinition;
+    }
+
+    static Map<String, Object> definition(Object... keyValues) {
+        Map<String, Object> definition = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            definition.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return definition;
+    }
+
+    static final class Declaration {
+        private final String section;
+        private final Map<String, Object> definition;
+        private final List<String> command;
+
+        private Declaration(String section, Map<String, Object> definition, List<String> command) {
+            this.section = section;
+            this.definition = definition;
+            this.command = command;
+        }
+
+        List<String> getCommand() {
+            return command;
+        }
+
+        @Override
+        public String toString() {
+            return section + " " + masked(definition);
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.util.*;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import static com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq.RabbitMQDefinitions.DEFAULT_VHOST;
+import static com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq.RabbitMQDefinitions.definition;
 import static java.lang.String.join;
 import static java.util.Arrays.asList;
 
@@ -40,10 +42,14 @@ public class RabbitMQPod extends Pod {
     public static final String JUNIT_5_KUBERNETES_RABBIT_MQ_CONTAINER = "junit5kubernetesrabbitmqcontainer";
 
     private static final Logger LOGGER = Logger.getLogger(RabbitMQPod.class.getName());
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String DEFINITIONS_FILE = "/tmp/junit5-kubernetes-definitions.json";
 
     private String adminUsername = "guest";
     private String adminPassword = "guest";
-    private final List<List<String>> commands = new ArrayList<>();
+    private final List<List<String>> commandsBeforeDefinitions = new ArrayList<>();
+    private final RabbitMQDefinitions definitions = new RabbitMQDefinitions();
+    private final List<List<String>> commandsAfterDefinitions = new ArrayList<>();
 
     private final PortMapper portMapper = new PortMapper();
 
@@ -75,19 +81,19 @@ public class RabbitMQPod extends Pod {
     }
 
     public Integer getAmqpPort() {
-        return portMapper.getComputedPort(NAMED_AMQP_PORT);
+        return getExposedPort(DEFAULT_AMQP_PORT, portMapper.getComputedPort(NAMED_AMQP_PORT));
     }
 
     public Integer getAmqpsPort() {
-        return portMapper.getComputedPort(NAMED_AMQPS_PORT);
+        return getExposedPort(DEFAULT_AMQPS_PORT, portMapper.getComputedPort(NAMED_AMQPS_PORT));
     }
 
     public Integer getHttpsPort() {
-        return portMapper.getComputedPort(NAMED_HTTPS_PORT);
+        return getExposedPort(DEFAULT_HTTPS_PORT, portMapper.getComputedPort(NAMED_HTTPS_PORT));
     }
 
     public Integer getHttpPort() {
-        return portMapper.getComputedPort(NAMED_HTTP_PORT);
+        return getExposedPort(DEFAULT_HTTP_PORT, portMapper.getComputedPort(NAMED_HTTP_PORT));
     }
 
     /**
@@ -132,90 +138,129 @@ public class RabbitMQPod extends Pod {
     public RabbitMQPod withPluginsEnabled(String... pluginNames) {
         List<String> command = new ArrayList<>(asList("rabbitmq-plugins", "enable"));
         command.addAll(asList(pluginNames));
-        commands.add(command);
+        // Plugins first, definitions may refer to them (eg. shovel parameters)
+        commandsBeforeDefinitions.add(command);
         return this;
     }
 
     public RabbitMQPod withBinding(String source, String destination) {
-        commands.add(asList("rabbitmqadmin", "declare", "binding",
-                "source=" + source,
-                "destination=" + destination));
+        definitions.add("bindings", definition(
+                "source", source,
+                "vhost", DEFAULT_VHOST,
+                "destination", destination,
+                "destination_type", "queue",
+                "routing_key", "",
+                "arguments", Collections.emptyMap()),
+                asList("rabbitmqadmin", "declare", "binding",
+                        "source=" + source,
+                        "destination=" + destination));
         return this;
     }
 
     public RabbitMQPod withBinding(String source, String destination, Map<String, Object> arguments, String routingKey, String destinationType) {
-        commands.add(asList("rabbitmqadmin", "declare", "binding",
+        List<String> command = asList("rabbitmqadmin", "declare", "binding",
                 "source=" + source,
                 "destination=" + destination,
                 "routing_key=" + routingKey,
                 "destination_type=" + destinationType,
-                "arguments=" + toJson(arguments)));
+                "arguments=" + toJson(arguments));
+        definitions.add("bindings", definition(
+                "source", source,
+                "vhost", DEFAULT_VHOST,
+                "destination", destination,
+                "destination_type", destinationType,
+                "routing_key", routingKey,
+                "arguments", arguments),
+                command);
         return this;
     }
 
     public RabbitMQPod withParameter(String component, String name, String value) {
-        commands.add(asList("rabbitmqadmin", "declare", "parameter",
-                "component=" + component,
-                "name=" + name,
-                "value=" + value));
+        definitions.add("parameters", definition(
+                "vhost", DEFAULT_VHOST,
+                "component", component,
+                "name", name,
+                "value", fromJson(value)),
+                asList("rabbitmqadmin", "declare", "parameter",
+                        "component=" + component,
+                        "name=" + name,
+                        "value=" + value));
         return this;
     }
 
     public RabbitMQPod withPermission(String vhost, String user, String configure, String write, String read) {
-        commands.add(asList("rabbitmqadmin", "declare", "permission",
-                "vhost=" + vhost,
-                "user=" + user,
-                "configure=" + configure,
-                "write=" + write,
-                "read=" + read));
+        definitions.add("permissions", definition(
+                "user", user,
+                "vhost", vhost,
+                "configure", configure,
+                "write", write,
+                "read", read),
+                asList("rabbitmqadmin", "declare", "permission",
+                        "vhost=" + vhost,
+                        "user=" + user,
+                        "configure=" + configure,
+                        "write=" + write,
+                        "read=" + read));
         return this;
     }
 
     public RabbitMQPod withUser(String name, String password) {
-        commands.add(asList("rabbitmqadmin", "declare", "user",
-                "name=" + name,
-                "password=" + password,
-                "tags="));
-        return this;
+        return withUser(name, password, Collections.emptySet());
     }
 
     public RabbitMQPod withUser(String name, String password, Set<String> tags) {
-        commands.add(asList("rabbitmqadmin", "declare", "user",
-                "name=" + name,
-                "password=" + password,
-                "tags=" + join(",", tags)));
+        definitions.add("users", definition(
+                "name", name,
+                "password", password,
+                "tags", join(",", tags)),
+                asList("rabbitmqadmin", "declare", "user",
+                        "name=" + name,
+                        "password=" + password,
+                        "tags=" + join(",", tags)));
         return this;
     }
 
     public RabbitMQPod withPolicy(String name, String pattern, Map<String, Object> definition) {
-        commands.add(asList("rabbitmqadmin", "declare", "policy",
-                "name=" + name,
-                "pattern=" + pattern,
-                "definition=" + toJson(definition)));
-        return this;
+        return withPolicy(DEFAULT_VHOST, name, pattern, definition);
     }
 
     public RabbitMQPod withPolicy(String vhost, String name, String pattern, Map<String, Object> definition) {
-        commands.add(asList("rabbitmqadmin", "declare", "policy",
+        List<String> command = asList("rabbitmqadmin", "declare", "policy",
                 "--vhost=" + vhost,
                 "name=" + name,
                 "pattern=" + pattern,
-                "definition=" + toJson(definition)));
+                "definition=" + toJson(definition));
+        definitions.add("policies", definition(
+                "vhost", vhost,
+                "name", name,
+                "pattern", pattern,
+                "apply-to", "all",
+                "definition", definition,
+                "priority", 0),
+                command);
         return this;
     }
 
     public RabbitMQPod withPolicy(String name, String pattern, Map<String, Object> definition, int priority, String applyTo) {
-        commands.add(asList("rabbitmqadmin", "declare", "policy",
+        List<String> command = asList("rabbitmqadmin", "declare", "policy",
                 "name=" + name,
                 "pattern=" + pattern,
                 "priority=" + priority,
                 "apply-to=" + applyTo,
-                "definition=" + toJson(definition)));
+                "definition=" + toJson(definition));
+        definitions.add("policies", definition(
+                "vhost", DEFAULT_VHOST,
+                "name", name,
+                "pattern", pattern,
+                "apply-to", applyTo,
+                "definition", definition,
+                "priority", priority),
+                command);
         return this;
     }
 
     public RabbitMQPod withOperatorPolicy(String name, String pattern, Map<String, Object> definition) {
-        commands.add(new ArrayList<>(asList("rabbitmqadmin", "declare", "operator_policy",
+        commandsAfterDefinitions.add(new ArrayList<>(asList("rabbitmqadmin", "declare", "operator_policy",
                 "name=" + name,
                 "pattern=" + pattern,
                 "definition=" + toJson(definition))));
@@ -223,7 +268,7 @@ public class RabbitMQPod extends Pod {
     }
 
     public RabbitMQPod withOperatorPolicy(String name, String pattern, Map<String, Object> definition, int priority, String applyTo) {
-        commands.add(asList("rabbitmqadmin", "declare", "operator_policy",
+        commandsAfterDefinitions.add(asList("rabbitmqadmin", "declare", "operator_policy",
                 "name=" + name,
                 "pattern=" + pattern,
                 "priority=" + priority,
@@ -233,20 +278,29 @@ public class RabbitMQPod extends Pod {
     }
 
     public RabbitMQPod withVhost(String name) {
-        commands.add(asList("rabbitmqadmin", "declare", "vhost",
-                "name=" + name));
+        definitions.add("vhosts", definition(
+                "name", name),
+                asList("rabbitmqadmin", "declare", "vhost",
+                        "name=" + name));
         return this;
     }
 
     public RabbitMQPod withVhost(String name, boolean tracing) {
-        commands.add(asList("rabbitmqadmin", "declare", "vhost",
-                "name=" + name,
-                "tracing=" + tracing));
+        definitions.add("vhosts", definition(
+                "name", name),
+                asList("rabbitmqadmin", "declare", "vhost",
+                        "name=" + name,
+                        "tracing=" + tracing));
+        if (tracing) {
+            // Tracing is not part of definitions, enabled once vhosts are imported
+            commandsAfterDefinitions.add(asList("rabbitmqctl", "trace_on", "-p", name));
+        }
         return this;
     }
 
     public RabbitMQPod withVhostLimit(String vhost, String name, int value) {
-        commands.add(asList("rabbitmqadmin", "declare", "vhost_limit",
+        // Vhost limits are not part of definitions, applied once vhosts are imported
+        commandsAfterDefinitions.add(asList("rabbitmqadmin", "declare", "vhost_limit",
                 "vhost=" + vhost,
                 "name=" + name,
                 "value=" + value));
@@ -254,35 +308,65 @@ public class RabbitMQPod extends Pod {
     }
 
     public RabbitMQPod withQueue(String name) {
-        commands.add(asList("rabbitmqadmin", "declare", "queue",
-                "name=" + name));
+        definitions.add("queues", definition(
+                "name", name,
+                "vhost", DEFAULT_VHOST,
+                "durable", true,
+                "auto_delete", false,
+                "arguments", Collections.emptyMap()),
+                asList("rabbitmqadmin", "declare", "queue",
+                        "name=" + name));
         return this;
     }
 
     public RabbitMQPod withQueue(String name, boolean autoDelete, boolean durable, Map<String, Object> arguments) {
-        commands.add(asList("rabbitmqadmin", "declare", "queue",
+        List<String> command = asList("rabbitmqadmin", "declare", "queue",
                 "name=" + name,
                 "auto_delete=" + autoDelete,
                 "durable=" + durable,
-                "arguments=" + toJson(arguments)));
+                "arguments=" + toJson(arguments));
+        definitions.add("queues", definition(
+                "name", name,
+                "vhost", DEFAULT_VHOST,
+                "durable", durable,
+                "auto_delete", autoDelete,
+                "arguments", arguments),
+                command);
         return this;
     }
 
     public RabbitMQPod withExchange(String name, String type) {
-        commands.add(asList("rabbitmqadmin", "declare", "exchange",
-                "name=" + name,
-                "type=" + type));
+        definitions.add("exchanges", definition(
+                "name", name,
+                "vhost", DEFAULT_VHOST,
+                "type", type,
+                "durable", true,
+                "auto_delete", false,
+                "internal", false,
+                "arguments", Collections.emptyMap()),
+                asList("rabbitmqadmin", "declare", "exchange",
+                        "name=" + name,
+                        "type=" + type));
         return this;
     }
 
     public RabbitMQPod withExchange(String name, String type, boolean autoDelete, boolean internal, boolean durable, Map<String, Object> arguments) {
-        commands.add(asList("rabbitmqadmin", "declare", "exchange",
+        List<String> command = asList("rabbitmqadmin", "declare", "exchange",
                 "name=" + name,
                 "type=" + type,
                 "auto_delete=" + autoDelete,
                 "internal=" + internal,
                 "durable=" + durable,
-                "arguments=" + toJson(arguments)));
+                "arguments=" + toJson(arguments));
+        definitions.add("exchanges", definition(
+                "name", name,
+                "vhost", DEFAULT_VHOST,
+                "type", type,
+                "durable", durable,
+                "auto_delete", autoDelete,
+                "internal", internal,
+                "arguments", arguments),
+                command);
         return this;
     }
 
@@ -371,21 +455,78 @@ public class RabbitMQPod extends Pod {
         }
     }
 
+    /**
+     * Applies every declaration in a single exec: plugins, then one definitions import, then operator policies and vhost limits.
+     * When the import fails, declarations are applied one by one (still in a single exec) to report the faulty ones.
+     */
     @Override
     protected void onKubernetesObjectReady() {
         super.onKubernetesObjectReady();
-        commands.forEach(command -> {
-            try(ExecResult execResult = execInPod(command.toArray(new String[0]))) {
-                if (execResult.getExitCode() != 0) {
-                    LOGGER.severe(String.format("Could not execute command %s: %s", command, execResult.consumeStandardErrorAsString(StandardCharsets.UTF_8)));
-                }
+        CommandBatch batch = new CommandBatch();
+        commandsBeforeDefinitions.forEach(command -> batch.add(withAdminCredentials(command)));
+        int importIndex = -1;
+        if (!definitions.isEmpty()) {
+            importIndex = batch.getCommands().size();
+            batch.addShell(importDefinitionsCommand(), asList("rabbitmqadmin", "import", DEFINITIONS_FILE));
+        }
+        commandsAfterDefinitions.forEach(command -> batch.add(withAdminCredentials(command)));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> failures = execBatch(batch);
+        for (Map.Entry<Integer, String> failure : failures.entrySet()) {
+            if (failure.getKey() == importIndex) {
+                LOGGER.severe(String.format("Could not import definitions %s: %s", definitions.toMaskedJson(OBJECT_MAPPER), failure.getValue()));
+                applyDeclarationsOneByOne();
+            } else {
+                LOGGER.severe(String.format("Could not execute command %s: %s", batch.getMaskedCommands().get(failure.getKey()), failure.getValue()));
             }
-        });
+        }
+    }
+
+    private void applyDeclarationsOneByOne() {
+        CommandBatch batch = new CommandBatch();
+        definitions.getDeclarations().forEach(declaration -> batch.add(withAdminCredentials(declaration.getCommand())));
+        execBatch(batch).forEach((index, output) ->
+                LOGGER.severe(String.format("Could not declare %s: %s", definitions.getDeclarations().get(index), output)));
+    }
+
+    private Map<Integer, String> execBatch(CommandBatch batch) {
+        try (ExecResult execResult = execInPod("sh", "-c", batch.toScript())) {
+            if (execResult.getExitCode() != 0) {
+                LOGGER.severe(String.format("Could not execute commands %s: %s", batch.getMaskedCommands(), execResult.consumeStandardErrorAsString(StandardCharsets.UTF_8)));
+            }
+            return CommandBatch.failures(execResult.consumeStandardOutAsString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String importDefinitionsCommand() {
+        String encodedDefinitions = Base64.getEncoder().encodeToString(definitions.toJson(OBJECT_MAPPER).getBytes(StandardCharsets.UTF_8));
+        return "echo " + encodedDefinitions + " | base64 -d > " + DEFINITIONS_FILE
+                + " && " + CommandBatch.toShell(withAdminCredentials(asList("rabbitmqadmin", "import", DEFINITIONS_FILE)));
+    }
+
+    private List<String> withAdminCredentials(List<String> command) {
+        if (!command.get(0).equals("rabbitmqadmin")) {
+            return command;
+        }
+        List<String> authenticatedCommand = new ArrayList<>(asList("rabbitmqadmin", "--username=" + adminUsername, "--password=" + adminPassword));
+        authenticatedCommand.addAll(command.subList(1, command.size()));
+        return authenticatedCommand;
+    }
+
+    private static Object fromJson(String value) {
+        try {
+            return OBJECT_MAPPER.readValue(value, Object.class);
+        } catch (IOException e) {
+            return value;
+        }
     }
 
     private String toJson(Map<String, Object> arguments) {
         try {
-            return new ObjectMapper().writeValueAsString(arguments);
+            return OBJECT_MAPPER.writeValueAsString(arguments);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to convert arguments into json: " + e.getMessage(), e);
         }
@@ -0,0 +1,44 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandBatchTest {
+
+    @Test
+    public void shouldQuoteArguments() {
+        assertThat(CommandBatch.toShell(asList("rabbitmqadmin", "declare", "policy", "name=max length policy", "pattern=it's")))
+                .isEqualTo("'rabbitmqadmin' 'declare' 'policy' 'name=max length policy' 'pattern=it'\\''s'");
+    }
+
+    @Test
+    public void shouldMaskPasswordsOfLoggedCommands() {
+        CommandBatch batch = new CommandBatch();
+        batch.add(asList("rabbitmqadmin", "--username=guest", "--password=secret", "declare", "user", "name=user1", "password=password1", "tags="));
+
+        assertThat(batch.getMaskedCommands().get(0))
+                .containsExactly("rabbitmqadmin", "--username=guest", "--password=********", "declare", "user", "name=user1", "password=********", "tags=");
+        assertThat(batch.toScript()).contains("'--password=secret'");
+    }
+
+    @Test
+    public void shouldReportFailuresPerCommand() {
+        CommandBatch batch = new CommandBatch();
+        batch.add(asList("rabbitmq-plugins", "enable", "rabbitmq_shovel"));
+        batch.add(asList("rabbitmqadmin", "declare", "vhost_limit", "vhost=unknown", "name=max-connections", "value=1"));
+
+        assertThat(batch.toScript()).contains("'rabbitmqadmin' 'declare' 'vhost_limit'");
+
+        Map<Integer, String> failures = CommandBatch.failures("enabling plugins\n"
+                + "@@junit5-kubernetes-failed@@ 1 1\n"
+                + "*** Not found: /api/vhosts/unknown\n"
+                + "@@junit5-kubernetes-end@@\n");
+
+        assertThat(failures).containsOnlyKeys(1);
+        assertThat(failures.get(1)).isEqualTo("exit code 1: *** Not found: /api/vhosts/unknown");
+    }
+}
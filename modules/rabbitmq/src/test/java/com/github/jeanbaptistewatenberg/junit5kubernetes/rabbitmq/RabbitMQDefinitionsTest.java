@@ -0,0 +1,23 @@
+package com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static com.github.jeanbaptistewatenberg.junit5kubernetes.rabbitmq.RabbitMQDefinitions.definition;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RabbitMQDefinitionsTest {
+
+    @Test
+    public void shouldMaskPasswordsOfLoggedDefinitions() {
+        RabbitMQDefinitions definitions = new RabbitMQDefinitions();
+        definitions.add("users", definition("name", "user1", "password", "password1", "tags", ""),
+                asList("rabbitmqadmin", "declare", "user", "name=user1", "password=password1", "tags="));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertThat(definitions.toJson(objectMapper)).contains("\"password\":\"password1\"");
+        assertThat(definitions.toMaskedJson(objectMapper)).doesNotContain("password1").contains("\"password\":\"********\"");
+        assertThat(definitions.getDeclarations().get(0).toString()).doesNotContain("password1");
+    }
+}